@@ -0,0 +1,54 @@
+package keyshooter.bench;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Made up dictionaries for the benchmarks so they do not depend on docs/words.txt
+ */
+final class BenchmarkWords {
+    private BenchmarkWords() {
+    }
+
+    /**
+     * Makes a list of random uppercase words
+     * @param count number of words
+     * @param length letters in each word
+     * @param seed seed so every run gets the same words
+     * @return list of words
+     */
+    static List<String> random(int count, int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> words = new ArrayList<>(count);
+        char[] letters = new char[length];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < length; j++) {
+                letters[j] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(letters));
+        }
+        return words;
+    }
+
+    /**
+     * Writes random lowercase words to a temporary file, one per line like docs/words.txt
+     * @param count number of words
+     * @return path of the file, deleted when the JVM exits
+     * @throws IOException thrown when the file cannot be written
+     */
+    static Path writeDictionary(int count) throws IOException {
+        Path path = Files.createTempFile("words", ".txt");
+        path.toFile().deleteOnExit();
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            for (String word : random(count, 5, count)) {
+                out.println(word.toLowerCase());
+            }
+        }
+        return path;
+    }
+}
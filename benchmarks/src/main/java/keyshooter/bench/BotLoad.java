@@ -0,0 +1,130 @@
+package keyshooter.bench;
+
+import keyshooter.Dictionary;
+import keyshooter.Histogram;
+import keyshooter.Utils;
+import keyshooter.WordSampler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Stress test for the game rules. Runs many TypistBot games at once on a ForkJoinPool,
+ * for every combination of spawn interval and word capacity, and prints one row each with:
+ *   average live words, keys and matches per real second over all bots,
+ *   the spread of scores, the real cost of the matcher per key and of tick per frame.
+ * The spawn intervals go well below the slider's 1 second, so the point where the
+ * engine starts to slow down shows up as the key and tick costs climbing.
+ * Usage: java -cp benchmarks/target/benchmarks.jar keyshooter.bench.BotLoad
+ *        [--bots=64] [--seconds=120] [--cps=6] [--accuracy=0.95]
+ *        [--spawn=3,1,0.25,0.05,0.01] [--capacity=64,512] [--threads=cores] [--words=docs/words.txt]
+ */
+public class BotLoad {
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                System.err.println("Expected --name=value but got " + arg);
+                System.exit(1);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        int bots = Integer.parseInt(options.getOrDefault("bots", "64"));
+        double seconds = Double.parseDouble(options.getOrDefault("seconds", "120"));
+        double cps = Double.parseDouble(options.getOrDefault("cps", "6"));
+        double accuracy = Double.parseDouble(options.getOrDefault("accuracy", "0.95"));
+        double[] spawnIntervals = parseList(options.getOrDefault("spawn", "3,1,0.25,0.05,0.01"));
+        double[] capacities = parseList(options.getOrDefault("capacity", "64,512"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        Dictionary words = options.containsKey("words")
+                ? Utils.loadDictionary(options.get("words"))
+                : Dictionary.of(BenchmarkWords.random(10_000, 6, 7));
+        // Bots only sample, so they can all share one sampler
+        WordSampler sampler = new WordSampler(words);
+
+        System.out.printf("%d bots x %.0f simulated s at %.1f letters/s, %.0f%% accurate, %d threads%n",
+                bots, seconds, cps, accuracy * 100, threads);
+        System.out.printf("%8s %8s %8s %11s %11s %20s %16s %16s %7s%n", "spawn s", "capacity", "live",
+                "keys/s", "matches/s", "score p10/p50/p90", "key ns mean/p99", "tick ns mean/p99", "hit %");
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (double capacity : capacities) {
+                for (double spawnInterval : spawnIntervals) {
+                    List<ForkJoinTask<TypistBot>> tasks = new ArrayList<>(bots);
+                    for (int i = 0; i < bots; i++) {
+                        tasks.add(ForkJoinTask.adapt(new TypistBot(sampler, i, (int) capacity,
+                                spawnInterval, cps, accuracy, seconds)));
+                    }
+                    long start = System.nanoTime();
+                    for (ForkJoinTask<TypistBot> task : tasks) {
+                        pool.execute(task);
+                    }
+                    for (ForkJoinTask<TypistBot> task : tasks) {
+                        task.join();
+                    }
+                    double wall = (System.nanoTime() - start) / 1_000_000_000.0;
+                    printRow(spawnInterval, (int) capacity, tasks, wall);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Adds up the bots from one run and prints their row
+     * @param spawnInterval seconds between spawns
+     * @param capacity most words on the screen
+     * @param tasks finished bots
+     * @param wall real seconds the run took
+     */
+    private static void printRow(double spawnInterval, int capacity, List<ForkJoinTask<TypistBot>> tasks, double wall) {
+        Histogram keyCost = new Histogram("key_cost_ns");
+        Histogram tickCost = new Histogram("tick_cost_ns");
+        Histogram scores = new Histogram("score");
+        long keys = 0;
+        long matches = 0;
+        long spawned = 0;
+        long liveWordFrames = 0;
+        long frames = 0;
+        for (ForkJoinTask<TypistBot> task : tasks) {
+            TypistBot bot = task.join();
+            keyCost.add(bot.keyCost);
+            tickCost.add(bot.tickCost);
+            scores.record(bot.getEngine().getScore());
+            keys += bot.keys;
+            matches += bot.getEngine().getScore();
+            spawned += bot.getEngine().getLifecycle().getSpawnedCount();
+            liveWordFrames += bot.liveWordFrames;
+            frames += bot.frames;
+        }
+        System.out.printf("%8.2f %8d %8.1f %11.0f %11.0f %20s %16s %16s %7.1f%n",
+                spawnInterval, capacity, (double) liveWordFrames / frames, keys / wall, matches / wall,
+                scores.getPercentile(10) + "/" + scores.getPercentile(50) + "/" + scores.getPercentile(90),
+                String.format("%.0f/%d", keyCost.getMean(), keyCost.getPercentile(99)),
+                String.format("%.0f/%d", tickCost.getMean(), tickCost.getPercentile(99)),
+                spawned == 0 ? 0 : 100.0 * matches / spawned);
+    }
+
+    /**
+     * @param list comma separated numbers
+     * @return the numbers
+     */
+    private static double[] parseList(String list) {
+        String[] parts = list.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,71 @@
+package keyshooter.bench;
+
+import keyshooter.Dictionary;
+import keyshooter.DictionaryCompiler;
+import keyshooter.MappedDictionary;
+import keyshooter.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading the text dictionary versus mapping the compiled one,
+ * and for drawing a word out of the mapped dictionary
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class DictionaryBenchmark {
+    @Param({"1000", "500000"})
+    public int words;
+
+    private Path text;
+    private Path compiled;
+    private MappedDictionary mapped;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        text = BenchmarkWords.writeDictionary(words);
+        compiled = DictionaryCompiler.compiledPathFor(text);
+        DictionaryCompiler.compile(text, compiled);
+        compiled.toFile().deleteOnExit();
+        mapped = MappedDictionary.open(compiled);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Dictionary loadText() throws IOException {
+        return Dictionary.of(Utils.readWords(text.toString()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Dictionary loadCompiled() throws IOException {
+        return MappedDictionary.open(compiled);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getCompiled() {
+        next = (next + 7919) % words;
+        return mapped.get(next);
+    }
+}
@@ -0,0 +1,80 @@
+package keyshooter.bench;
+
+import keyshooter.ActiveWord;
+import keyshooter.Dictionary;
+import keyshooter.GameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for typing against different numbers of active words.
+ * Words.addTypedLetter hands every key to GameEngine.typeLetter/backspace,
+ * which is where the matching happens, so the engine is measured directly
+ * and no JavaFX toolkit is needed.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MatcherBenchmark {
+    // Long enough that no word expires during a run
+    private static final double NEVER = 1e9;
+
+    @Param({"8", "64", "512"})
+    public int activeWords;
+
+    private GameEngine engine;
+    private List<String> words;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = BenchmarkWords.random(activeWords, 5, 42);
+        engine = new GameEngine(Dictionary.of(words), 600, 450, 42, activeWords);
+        for (String word : words) {
+            engine.spawn(word, 0, 0, 0, 0, NEVER);
+        }
+    }
+
+    /**
+     * One letter and a backspace, the per key cost when nothing matches
+     */
+    @Benchmark
+    public int typeAndBackspace() {
+        char letter = (char) ('A' + (next++ % 26));
+        engine.typeLetter(letter);
+        int viable = engine.getViableCount();
+        engine.backspace();
+        return viable;
+    }
+
+    /**
+     * Types a whole active word, which hits it, then spawns it again
+     * so the number of active words stays the same
+     */
+    @Benchmark
+    public ActiveWord typeWholeWord() {
+        String word = words.get(next++ % words.size());
+        ActiveWord hit = null;
+        for (int i = 0; i < word.length(); i++) {
+            hit = engine.typeLetter(word.charAt(i));
+        }
+        engine.spawn(word, 0, 0, 0, 0, NEVER);
+        return hit;
+    }
+}
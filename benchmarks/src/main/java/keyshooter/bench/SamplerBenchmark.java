@@ -0,0 +1,62 @@
+package keyshooter.bench;
+
+import keyshooter.Dictionary;
+import keyshooter.WordSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for drawing words from the WordSampler and for changing its weights
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SamplerBenchmark {
+    @Param({"1000", "500000"})
+    public int words;
+
+    private WordSampler sampler;
+    private SplittableRandom random;
+    private double level = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Mix of lengths so there are many buckets
+        List<String> dictionary = new ArrayList<>(words);
+        for (int length = 3; dictionary.size() < words; length = length == 12 ? 3 : length + 1) {
+            dictionary.addAll(BenchmarkWords.random(Math.min(1000, words - dictionary.size()), length, length));
+        }
+        sampler = new WordSampler(Dictionary.of(dictionary));
+        sampler.setDifficulty(0.5);
+        random = new SplittableRandom(1);
+    }
+
+    @Benchmark
+    public int sample() {
+        return sampler.sample(random);
+    }
+
+    @Benchmark
+    public void setDifficulty() {
+        level = level >= 1 ? 0 : level + 0.01;
+        sampler.setDifficulty(level);
+    }
+}
@@ -0,0 +1,73 @@
+package keyshooter.bench;
+
+import keyshooter.ActiveWord;
+import keyshooter.Dictionary;
+import keyshooter.GameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for spawning words and moving them each frame.
+ * The engine is kept full so every spawn also expires the oldest word.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SpawnBenchmark {
+    // One frame at 60 frames per second
+    private static final long FRAME = 16_666_667L;
+
+    @Param({"64", "512"})
+    public int activeWords;
+
+    @Param({"10000"})
+    public int dictionarySize;
+
+    private GameEngine engine;
+    private long now = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new GameEngine(Dictionary.of(BenchmarkWords.random(dictionarySize, 5, 7)), 600, 450, 7, activeWords);
+        // Only spawn when asked to
+        engine.setSpawnInterval(Long.MAX_VALUE);
+        engine.tick(now);
+        for (int i = 0; i < activeWords; i++) {
+            engine.spawnWord();
+        }
+    }
+
+    @Benchmark
+    public ActiveWord spawnWord() {
+        return engine.spawnWord();
+    }
+
+    /**
+     * One frame of movement with every word moving, plus a spawn to
+     * replace the words that expire
+     */
+    @Benchmark
+    public int tick() {
+        now += FRAME;
+        engine.tick(now);
+        while (engine.getLifecycle().getLiveCount() < activeWords) {
+            engine.spawnWord();
+        }
+        return engine.getMotion().getMovingCount();
+    }
+}
@@ -0,0 +1,186 @@
+package keyshooter.bench;
+
+import keyshooter.ActiveWord;
+import keyshooter.GameEngine;
+import keyshooter.Histogram;
+import keyshooter.WordSampler;
+import keyshooter.WordState;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * One simulated player driving a headless GameEngine in simulated time.
+ * The bot types at a set speed with some jitter. It aims at the oldest word that
+ * still starts with what it has typed, and it makes mistakes at a set rate.
+ * A mistake is a wrong letter, which the bot deletes with backspace on its next key.
+ * The engine is ticked at 60 frames per simulated second, and the real time spent in
+ * the matcher (typeLetter and backspace) and in tick is recorded.
+ */
+class TypistBot implements Callable<TypistBot> {
+    // One frame at 60 frames per second
+    private static final long FRAME = 16_666_667L;
+
+    private final GameEngine engine;
+    private final SplittableRandom random;
+    private final double simulatedSeconds;
+    // Mean time between keys in nanoseconds and chance of each letter being right
+    private final long keyInterval;
+    private final double accuracy;
+
+    // Real nanoseconds per key spent in the matcher, and per frame spent in tick
+    final Histogram keyCost = new Histogram("key_cost_ns");
+    final Histogram tickCost = new Histogram("tick_cost_ns");
+    // Counts once the simulation has run
+    long keys;
+    long mistakes;
+    long liveWordFrames;
+    long frames;
+
+    // Word being typed, with its spawn order so a reused slot is noticed
+    private ActiveWord target;
+    private long targetOrder;
+    // True when the last letter was wrong and still has to be deleted
+    private boolean mistakePending = false;
+
+    /**
+     * @param sampler shared sampler the engine picks words with
+     * @param seed seed for the engine and the bot
+     * @param capacity most words on the screen at once
+     * @param spawnInterval seconds between spawns
+     * @param charactersPerSecond mean typing speed
+     * @param accuracy chance between 0 and 1 that a letter is typed right
+     * @param simulatedSeconds how long the game lasts in simulated time
+     */
+    TypistBot(WordSampler sampler, long seed, int capacity, double spawnInterval,
+              double charactersPerSecond, double accuracy, double simulatedSeconds) {
+        engine = new GameEngine(sampler, 600, 450, seed, capacity);
+        engine.setSpawnInterval((long) (spawnInterval * 1_000_000_000L));
+        random = new SplittableRandom(~seed);
+        keyInterval = (long) (1_000_000_000L / charactersPerSecond);
+        this.accuracy = accuracy;
+        this.simulatedSeconds = simulatedSeconds;
+    }
+
+    /**
+     * Plays the whole game
+     * @return this bot, with its counts filled in
+     */
+    @Override
+    public TypistBot call() {
+        long end = (long) (simulatedSeconds * 1_000_000_000L);
+        long nextKey = nextKeyDelay();
+        for (long now = 0; now <= end; now += FRAME) {
+            while (nextKey <= now) {
+                pressKey();
+                nextKey += nextKeyDelay();
+            }
+            long start = System.nanoTime();
+            engine.tick(now);
+            tickCost.record(System.nanoTime() - start);
+            liveWordFrames += engine.getLifecycle().getLiveCount();
+            frames++;
+        }
+        return this;
+    }
+
+    /**
+     * @return time until the next key, between half and one and a half of the mean
+     */
+    private long nextKeyDelay() {
+        return keyInterval / 2 + random.nextLong(keyInterval);
+    }
+
+    /**
+     * Decides on and types one key, timing only the engine call
+     */
+    private void pressKey() {
+        CharSequence typed = engine.getTyped();
+        if (!mistakePending && !isTargetStillTypeable(typed)) {
+            target = pickTarget(typed);
+            if (target == null) {
+                // Nothing on the screen matches, delete what was typed or wait for a spawn
+                if (typed.length() > 0) {
+                    timedBackspace();
+                }
+                return;
+            }
+            targetOrder = target.getSpawnOrder();
+        }
+        if (mistakePending) {
+            mistakePending = false;
+            timedBackspace();
+            return;
+        }
+        char letter = target.getWord().charAt(typed.length());
+        if (random.nextDouble() >= accuracy) {
+            letter = (char) ('A' + (letter - 'A' + 1 + random.nextInt(25)) % 26);
+            mistakePending = true;
+            mistakes++;
+        }
+        long start = System.nanoTime();
+        engine.typeLetter(letter);
+        keyCost.record(System.nanoTime() - start);
+        keys++;
+    }
+
+    /**
+     * @param typed letters typed so far
+     * @return true if the target is still on the screen and starts with what was typed
+     */
+    private boolean isTargetStillTypeable(CharSequence typed) {
+        return target != null && target.getState() == WordState.LIVE && target.getSpawnOrder() == targetOrder
+                && startsWith(target.getWord(), typed);
+    }
+
+    /**
+     * @param typed letters typed so far
+     * @return the oldest live word starting with what was typed, or null
+     */
+    private ActiveWord pickTarget(CharSequence typed) {
+        ActiveWord best = null;
+        List<ActiveWord> live = engine.getLifecycle().getLive();
+        for (int i = 0; i < live.size(); i++) {
+            ActiveWord word = live.get(i);
+            if (startsWith(word.getWord(), typed) && (best == null || word.getSpawnOrder() < best.getSpawnOrder())) {
+                best = word;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Deletes the last letter, timing the engine call
+     */
+    private void timedBackspace() {
+        long start = System.nanoTime();
+        engine.backspace();
+        keyCost.record(System.nanoTime() - start);
+        keys++;
+    }
+
+    /**
+     * @param word word to check
+     * @param prefix letters typed so far
+     * @return true if the word is longer than the prefix and starts with it
+     */
+    private static boolean startsWith(String word, CharSequence prefix) {
+        if (word.length() <= prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (word.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the engine after the game, for its score and lifecycle counters
+     */
+    GameEngine getEngine() {
+        return engine;
+    }
+}
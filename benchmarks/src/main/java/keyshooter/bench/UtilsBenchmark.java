@@ -0,0 +1,74 @@
+package keyshooter.bench;
+
+import javafx.scene.input.KeyCode;
+import keyshooter.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Utils.combineList and Utils.readWords
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UtilsBenchmark {
+
+    @State(Scope.Thread)
+    public static class Keys {
+        @Param({"5", "20"})
+        public int length;
+
+        public List<KeyCode> keyCodes;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            keyCodes = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                keyCodes.add(KeyCode.getKeyCode(String.valueOf((char) ('A' + i % 26))));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Dictionary {
+        @Param({"1000", "500000"})
+        public int words;
+
+        public String path;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            path = BenchmarkWords.writeDictionary(words).toString();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String combineList(Keys keys) {
+        return Utils.combineList(keys.keyCodes);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> readWords(Dictionary dictionary) throws FileNotFoundException {
+        return Utils.readWords(dictionary.path);
+    }
+}
@@ -0,0 +1,84 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * A word that has been spawned onto the screen.
+ * ActiveWords are owned by a WordLifecycle and are reused once released,
+ * so each one is tied to a fixed slot that can be used to index other arrays.
+ */
+public class ActiveWord {
+    // Fixed index of this word in the lifecycle, between 0 and the capacity
+    private final int slot;
+    // Uppercase word that has to be typed
+    private String word;
+    // Where this word is in its lifecycle
+    private WordState state = WordState.RELEASED;
+    // Increases with every spawn, used to find the oldest live word
+    private long spawnOrder;
+    // Width of the word on the screen if it was measured ahead of time, otherwise -1
+    private double textWidth = -1;
+
+    ActiveWord(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Rebinds this slot to a newly spawned word
+     * @param word uppercase word to type
+     * @param spawnOrder number of words spawned before this one
+     */
+    void spawn(String word, long spawnOrder) {
+        this.word = word;
+        this.spawnOrder = spawnOrder;
+        this.state = WordState.SPAWNED;
+        this.textWidth = -1;
+    }
+
+    void setState(WordState state) {
+        this.state = state;
+    }
+
+    void setTextWidth(double textWidth) {
+        this.textWidth = textWidth;
+    }
+
+    /**
+     * getter for the slot this word uses
+     * @return slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * getter for the string representation of the word
+     * @return word
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * getter for the lifecycle state of the word
+     * @return state
+     */
+    public WordState getState() {
+        return state;
+    }
+
+    /**
+     * getter for the spawn order of the word
+     * @return spawnOrder
+     */
+    public long getSpawnOrder() {
+        return spawnOrder;
+    }
+
+    /**
+     * getter for the width of the word measured before it was spawned
+     * @return width in pixels, or -1 if it has not been measured
+     */
+    public double getTextWidth() {
+        return textWidth;
+    }
+}
@@ -0,0 +1,103 @@
+package keyshooter;
+
+import java.util.SplittableRandom;
+
+/**
+ * Corey Walker
+ * Draws an index with probability proportional to its weight in O(1)
+ * using Walker's alias method (Vose's version of building the table).
+ * Rebuilding after the weights change is O(n) in the number of weights
+ * and does not allocate.
+ */
+public class AliasSampler {
+    private final int n;
+    // Chance of keeping the column that was picked instead of taking its alias
+    private final double[] prob;
+    // Index to use when the column is not kept
+    private final int[] alias;
+    // Work arrays for rebuild
+    private final double[] scaled;
+    private final int[] small;
+    private final int[] large;
+    // False when every weight is zero
+    private boolean hasWeight = false;
+
+    public AliasSampler(int n) {
+        this.n = n;
+        prob = new double[n];
+        alias = new int[n];
+        scaled = new double[n];
+        small = new int[n];
+        large = new int[n];
+    }
+
+    /**
+     * Builds the table for new weights
+     * @param weights one weight per index, none negative, at least n long
+     */
+    public void rebuild(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += weights[i];
+        }
+        hasWeight = sum > 0;
+        if (!hasWeight) {
+            return;
+        }
+
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            }
+            else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            prob[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            }
+            else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is only off from 1 by rounding
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            prob[i] = 1;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            prob[i] = 1;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * @param random random number generator
+     * @return an index between 0 and n, or -1 if every weight is zero
+     */
+    public int sample(SplittableRandom random) {
+        if (!hasWeight) {
+            return -1;
+        }
+        int column = random.nextInt(n);
+        return random.nextDouble() < prob[column] ? column : alias[column];
+    }
+
+    /**
+     * @return false when every weight is zero and sample has nothing to draw
+     */
+    public boolean hasWeight() {
+        return hasWeight;
+    }
+}
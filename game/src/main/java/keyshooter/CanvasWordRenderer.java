@@ -0,0 +1,155 @@
+package keyshooter;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Corey Walker
+ * Renderer that draws every floating word onto a single Canvas
+ * (https://openjfx.io/javadoc/18/javafx.graphics/javafx/scene/canvas/Canvas.html)
+ * instead of adding nodes to the scene graph. The whole canvas is redrawn
+ * on every frame where something changed. Words are drawn the same way a
+ * WordBox looks: a white box with the word centered on it.
+ * Given a WordSpriteCache the words are drawn from their cached images
+ * instead of laying out and filling the text on every frame.
+ */
+public class CanvasWordRenderer implements WordRenderer {
+    // Size of the box behind each word, same as NodeWordRenderer
+    private static final double WORD_SIZE = 25;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final Font font;
+    // Used to measure each word when it is spawned, if the planner did not measure it already
+    private final Text measure;
+    // Word shown in each lifecycle slot, null when the slot is free
+    private final String[] slotWords;
+    // Width of the box for each lifecycle slot
+    private final double[] slotWidths;
+    // Cached image of the word in each lifecycle slot, only used with a sprite cache
+    private final Image[] slotSprites;
+    // Where the images of the words come from, null to fill the text instead
+    private final WordSpriteCache sprites;
+    // Width of each letter, measured once so words can be measured off the FX thread
+    private final double[] letterWidths = new double[26];
+    // Set when a word is removed so the canvas is cleared even if nothing is moving
+    private boolean dirty = false;
+
+    /**
+     * @param wordsPane pane the canvas is added to
+     * @param width width of the canvas
+     * @param height height of the canvas
+     * @param capacity number of lifecycle slots
+     * @param sprites cached images of the words, null to fill the text on every frame
+     */
+    public CanvasWordRenderer(Pane wordsPane, double width, double height, int capacity, WordSpriteCache sprites) {
+        this.sprites = sprites;
+        slotSprites = new Image[capacity];
+        canvas = new Canvas(width, height);
+        gc = canvas.getGraphicsContext2D();
+        font = WordBox.fontFor(WORD_SIZE - 2);
+        gc.setFont(font);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        measure = new Text();
+        measure.setFont(font);
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            measure.setText(String.valueOf(letter));
+            letterWidths[letter - 'A'] = measure.getLayoutBounds().getWidth();
+        }
+        slotWords = new String[capacity];
+        slotWidths = new double[capacity];
+        wordsPane.getChildren().add(canvas);
+    }
+
+    /**
+     * Adds up the letter widths measured when the renderer was made, so it only reads
+     * an array and is safe to call from any thread, unlike measuring with a Text node.
+     * It leaves out kerning, which only changes the box by a pixel or two.
+     * @param word uppercase word
+     * @return width of the word in pixels, or -1 if it has letters other than A to Z
+     */
+    public double measure(String word) {
+        double width = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'A';
+            if (letter < 0 || letter >= letterWidths.length) {
+                return -1;
+            }
+            width += letterWidths[letter];
+        }
+        return width;
+    }
+
+    /**
+     * Remembers the word and how wide its box should be,
+     * measuring it only if it was not measured before it was spawned
+     * @param word word that was spawned
+     */
+    @Override
+    public void add(ActiveWord word) {
+        int slot = word.getSlot();
+        slotWords[slot] = word.getWord();
+        double textWidth = word.getTextWidth();
+        if (textWidth < 0) {
+            measure.setText(word.getWord());
+            textWidth = measure.getLayoutBounds().getWidth();
+        }
+        slotWidths[slot] = Math.max(WORD_SIZE, textWidth);
+        if (sprites != null) {
+            slotSprites[slot] = sprites.get(word.getWord(), font, Color.BLACK);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Forgets the word, it disappears on the next frame
+     * @param word word that is being released
+     */
+    @Override
+    public void remove(ActiveWord word) {
+        slotWords[word.getSlot()] = null;
+        slotSprites[word.getSlot()] = null;
+        dirty = true;
+    }
+
+    /**
+     * Clears the canvas and draws every moving word at its position.
+     * Skips the frame if nothing has moved, been added or been removed.
+     * @param motion positions of every moving word
+     */
+    @Override
+    public void render(WordMotion motion) {
+        if (!dirty && motion.getMovingCount() == 0) {
+            return;
+        }
+        dirty = false;
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < motion.getMovingCount(); i++) {
+            int slot = motion.getMoving(i);
+            double boxWidth = slotWidths[slot];
+            double x = motion.getX(slot);
+            double y = motion.getY(slot);
+            // The word is centered on the box the same way a StackPane would
+            gc.setFill(Color.WHITE);
+            gc.fillRect(x + (boxWidth - WORD_SIZE) / 2, y, WORD_SIZE, WORD_SIZE);
+            Image sprite = slotSprites[slot];
+            if (sprite == null) {
+                gc.setFill(Color.BLACK);
+                gc.fillText(slotWords[slot], x + boxWidth / 2, y + WORD_SIZE / 2);
+            }
+            else {
+                double spriteWidth = sprites.getWidth(sprite);
+                double spriteHeight = sprites.getHeight(sprite);
+                gc.drawImage(sprite, x + (boxWidth - spriteWidth) / 2, y + (WORD_SIZE - spriteHeight) / 2,
+                        spriteWidth, spriteHeight);
+            }
+        }
+    }
+}
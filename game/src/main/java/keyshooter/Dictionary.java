@@ -0,0 +1,56 @@
+package keyshooter;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Corey Walker
+ * The words that can be spawned, looked up by index.
+ * Implementations may keep the words packed and only build a String
+ * when a word is asked for, so only spawned words become Strings.
+ * forEachChar reads a word without building its String, which is how
+ * WordSampler indexes every word up front.
+ */
+public interface Dictionary {
+    /**
+     * @return number of words
+     */
+    int size();
+
+    /**
+     * @param index index between 0 and size()
+     * @return uppercase word at that index
+     */
+    String get(int index);
+
+    /**
+     * Hands each char of a word to the consumer in order, the same chars as get(index)
+     * @param index index between 0 and size()
+     * @param consumer gets each char
+     */
+    default void forEachChar(int index, IntConsumer consumer) {
+        String word = get(index);
+        for (int i = 0; i < word.length(); i++) {
+            consumer.accept(word.charAt(i));
+        }
+    }
+
+    /**
+     * Wraps a list of words that are already uppercase
+     * @param words list of words
+     * @return dictionary backed by the list
+     */
+    static Dictionary of(List<String> words) {
+        return new Dictionary() {
+            @Override
+            public int size() {
+                return words.size();
+            }
+
+            @Override
+            public String get(int index) {
+                return words.get(index);
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package keyshooter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corey Walker
+ * Tool that turns a text dictionary with one word per line into the compiled
+ * format read by MappedDictionary. Blank lines are skipped and words are
+ * trimmed and uppercased.
+ * Usage: DictionaryCompiler docs/words.txt [docs/words.dict]
+ */
+public class DictionaryCompiler {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: DictionaryCompiler <words.txt> [<words.dict>]");
+            System.exit(1);
+        }
+        Path text = Paths.get(args[0]);
+        Path compiled = args.length == 2 ? Paths.get(args[1]) : compiledPathFor(text);
+        int count = compile(text, compiled);
+        System.out.println("Wrote " + count + " words to " + compiled);
+    }
+
+    /**
+     * Gives the path a compiled dictionary would have next to a text one,
+     * the same name with a .dict extension
+     * @param text path of the text dictionary
+     * @return path of the compiled dictionary
+     */
+    public static Path compiledPathFor(Path text) {
+        String name = text.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return text.resolveSibling(base + ".dict");
+    }
+
+    /**
+     * Reads the text dictionary and writes the compiled one
+     * @param text path of the text dictionary
+     * @param compiled path to write the compiled dictionary to
+     * @return number of words written
+     * @throws IOException thrown when either file cannot be used
+     */
+    public static int compile(Path text, Path compiled) throws IOException {
+        List<byte[]> words = new ArrayList<>();
+        boolean ascii = true;
+        try (BufferedReader reader = Files.newBufferedReader(text, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toUpperCase();
+                if (word.isEmpty()) {
+                    continue;
+                }
+                byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+                ascii &= bytes.length == word.length();
+                words.add(bytes);
+            }
+        }
+
+        try (OutputStream file = Files.newOutputStream(compiled);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MappedDictionary.MAGIC);
+            out.writeInt(words.size());
+            out.writeInt(ascii ? MappedDictionary.FLAG_ASCII : 0);
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] word : words) {
+                offset += word.length;
+                out.writeInt(offset);
+            }
+            for (byte[] word : words) {
+                out.write(word);
+            }
+        }
+        return words.size();
+    }
+}
@@ -0,0 +1,222 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Finds the active word closest to what has been typed, by edit distance
+ * (letters added, removed or changed), so a word with a typo in it can still be hit.
+ * Uses the bit-parallel edit distance of Myers as set out by Hyyrö
+ * (https://doi.org/10.1145/316542.316550): each active word is the pattern, one bit
+ * per letter, and each typed letter is one column of the distance table, worked out
+ * for all the word's letters at once with a handful of long operations.
+ * The column for every typed depth is kept on a stack, so a typed letter costs
+ * one column per active word and a backspace just pops back to the last depth.
+ * A word spawned in the middle of typing works out its columns for what has been typed.
+ * Everything is in arrays made up front, so nothing is allocated per key, and a key
+ * walks a dense list of the matched slots through arrays laid out by depth and by letter,
+ * so the words' state is read one cache line after another.
+ * Only words of up to 64 letters A-Z are matched, the rest are left out.
+ */
+public class FuzzyMatcher {
+    // Longest word that fits in the bits of a long
+    private static final int MAX_WORD_LENGTH = 64;
+    // Deepest typed depth that columns are kept for, nothing matches once more has been typed
+    private static final int MAX_DEPTH = MAX_WORD_LENGTH;
+    private static final int ALPHABET = 26;
+
+    private final int capacity;
+    // letterMasks[letter * capacity + slot] has a bit set at each position of that letter in the word
+    private final long[] letterMasks;
+    // Length of the word in each slot, 0 for a word that is not matched
+    private final int[] lengths;
+    // Bit of the last letter of the word in each slot
+    private final long[] lastBits;
+    // Slots being matched, the first slotCount are in use, and where each slot is in that list
+    private final int[] slots;
+    private final int[] positions;
+    private int slotCount = 0;
+    // Order the slots were added in, ties go to the oldest word
+    private final long[] addOrder;
+    private long added = 0;
+    // Vertical positive and negative differences of the column for each depth,
+    // at [depth * capacity + slot]
+    private final long[] positive;
+    private final long[] negative;
+    // Edit distance between the word and the letters typed up to each depth, at [depth * capacity + slot]
+    private final int[] distances;
+    // Letter typed at each depth, used to catch up words spawned partway through typing
+    private final char[] typedLetters = new char[MAX_DEPTH];
+    // Number of letters typed since the last reset
+    private int depth = 0;
+
+    /**
+     * @param capacity number of lifecycle slots
+     */
+    public FuzzyMatcher(int capacity) {
+        this.capacity = capacity;
+        letterMasks = new long[capacity * ALPHABET];
+        lengths = new int[capacity];
+        lastBits = new long[capacity];
+        slots = new int[capacity];
+        positions = new int[capacity];
+        addOrder = new long[capacity];
+        positive = new long[(MAX_DEPTH + 1) * capacity];
+        negative = new long[(MAX_DEPTH + 1) * capacity];
+        distances = new int[(MAX_DEPTH + 1) * capacity];
+    }
+
+    /**
+     * Starts matching a word and works out its columns for the letters already typed
+     * @param slot lifecycle slot of the word
+     * @param word uppercase word
+     */
+    public void add(int slot, String word) {
+        remove(slot);
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            letterMasks[letter * capacity + slot] = 0;
+        }
+        if (word.isEmpty() || word.length() > MAX_WORD_LENGTH) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'A';
+            if (letter < 0 || letter >= ALPHABET) {
+                return;
+            }
+            letterMasks[letter * capacity + slot] |= 1L << i;
+        }
+        lengths[slot] = word.length();
+        lastBits[slot] = 1L << (word.length() - 1);
+        addOrder[slot] = added++;
+        positions[slot] = slotCount;
+        slots[slotCount++] = slot;
+        // Before anything is typed the distance to each prefix of the word is its length
+        positive[slot] = -1L;
+        negative[slot] = 0;
+        distances[slot] = word.length();
+        for (int d = 0; d < Math.min(depth, MAX_DEPTH); d++) {
+            step(slot, d * capacity, letterRow(typedLetters[d]));
+        }
+    }
+
+    /**
+     * Stops matching a word, does nothing if it is not being matched
+     * @param slot lifecycle slot of the word
+     */
+    public void remove(int slot) {
+        if (lengths[slot] == 0) {
+            return;
+        }
+        lengths[slot] = 0;
+        int moved = slots[--slotCount];
+        slots[positions[slot]] = moved;
+        positions[moved] = positions[slot];
+    }
+
+    /**
+     * Adds a typed letter and works out the next column for every word being matched
+     * @param letter uppercase letter
+     */
+    public void advance(char letter) {
+        if (depth < MAX_DEPTH) {
+            typedLetters[depth] = letter;
+            int letterRow = letterRow(letter);
+            int from = depth * capacity;
+            for (int i = 0; i < slotCount; i++) {
+                step(slots[i], from, letterRow);
+            }
+        }
+        depth++;
+    }
+
+    /**
+     * Removes the last typed letter, the column before it is still on the stack
+     */
+    public void retreat() {
+        if (depth > 0) {
+            depth--;
+        }
+    }
+
+    /**
+     * Forgets everything typed
+     */
+    public void reset() {
+        depth = 0;
+    }
+
+    /**
+     * Finds the word closest to what has been typed
+     * @param tolerance largest edit distance that counts as a match
+     * @return slot of the word with the smallest distance, the oldest one if there is a tie,
+     *         or -1 if none is within the tolerance
+     */
+    public int match(int tolerance) {
+        if (depth == 0 || depth > MAX_DEPTH) {
+            return -1;
+        }
+        int row = depth * capacity;
+        int best = -1;
+        int bestDistance = tolerance + 1;
+        for (int i = 0; i < slotCount; i++) {
+            int slot = slots[i];
+            int distance = distances[row + slot];
+            if (distance < bestDistance || (distance == bestDistance && best != -1 && addOrder[slot] < addOrder[best])) {
+                best = slot;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param slot lifecycle slot of the word
+     * @return edit distance between the word and what has been typed, or -1 if it is not matched
+     */
+    public int distance(int slot) {
+        if (lengths[slot] == 0 || depth > MAX_DEPTH) {
+            return -1;
+        }
+        return distances[depth * capacity + slot];
+    }
+
+    /**
+     * @param letter typed letter
+     * @return start of the letter's masks in letterMasks, or -1 for a letter no word has
+     */
+    private int letterRow(char letter) {
+        int index = letter - 'A';
+        return index >= 0 && index < ALPHABET ? index * capacity : -1;
+    }
+
+    /**
+     * Works out a word's column at the next depth from the one at the given depth.
+     * The top row of the table counts the typed letters, so one is carried in at the bottom bit.
+     * @param slot lifecycle slot of the word
+     * @param from start of the depth's columns, depth * capacity
+     * @param letterRow start of the typed letter's masks, see letterRow
+     */
+    private void step(int slot, int from, int letterRow) {
+        int at = from + slot;
+        int to = at + capacity;
+        long equal = letterRow < 0 ? 0 : letterMasks[letterRow + slot];
+        long vp = positive[at];
+        long vn = negative[at];
+        long last = lastBits[slot];
+
+        long d0 = (((equal & vp) + vp) ^ vp) | equal | vn;
+        long hp = vn | ~(d0 | vp);
+        long hn = vp & d0;
+        int distance = distances[at];
+        if ((hp & last) != 0) {
+            distance++;
+        }
+        else if ((hn & last) != 0) {
+            distance--;
+        }
+        hp = (hp << 1) | 1;
+        hn = hn << 1;
+        positive[to] = hn | ~(d0 | hp);
+        negative[to] = hp & d0;
+        distances[to] = distance;
+    }
+}
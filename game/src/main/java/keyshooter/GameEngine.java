@@ -0,0 +1,511 @@
+package keyshooter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Corey Walker
+ * The rules of the game without any JavaFX: spawning words, moving them,
+ * following what is typed, matching words and keeping score.
+ * Time only moves forward when tick is called with a new time and all
+ * randomness comes from a seeded generator, so the same seed, ticks and
+ * keys always play out the same way. This lets the game run headless in
+ * benchmarks and simulations as fast as the CPU allows.
+ */
+public class GameEngine {
+    // How long it takes a word to cross the screen
+    public static final double WORD_LIFETIME_SECONDS = 5;
+    // Height of a spawn lane, the height of a floating word
+    public static final double LANE_HEIGHT = 25;
+    // Roughly how wide a floating word is, the width of a grid cell
+    public static final double LANE_WIDTH = 100;
+    // End points tried for each spawn, the least crowded one is used
+    private static final int END_CANDIDATES = 4;
+    // Does nothing, used until a listener is set
+    private static final GameListener NO_LISTENER = new GameListener() { };
+
+    // All available words, uppercase
+    private Dictionary words;
+    // Picks which word to spawn, by length and difficulty
+    private WordSampler sampler;
+    // Width/height of the area the words move in
+    private final double width;
+    private final double height;
+    // Seed the random generator was created with
+    private final long seed;
+    private final SplittableRandom random;
+    // Tracks every word from the time it is spawned until it is released
+    private final WordLifecycle lifecycle;
+    // Positions of all words
+    private final WordMotion motion;
+    // Which words are where, used to spawn words into empty space
+    private final SpatialGrid grid;
+    // Prepares spawns on a background thread, null when spawns are worked out on the spot
+    private SpawnPlanner planner;
+    // What the planner was started with, so it can be started again with a new sampler
+    private int plannerDepth;
+    private ToDoubleFunction<String> plannerMeasurer;
+    // Filled in on the spot when there is no planner
+    private final SpawnPlan inlinePlan = new SpawnPlan(END_CANDIDATES);
+    // Slots that finished moving during the last tick
+    private final int[] finishedSlots;
+    // Prefix trie of the active words, its cursor follows the typed letters
+    private final WordTrie<ActiveWord> activeIndex;
+    // Edit distance from what has been typed to every active word, null until a tolerance is set
+    private FuzzyMatcher fuzzy;
+    // Largest edit distance that still hits a word, 0 to only hit exact matches
+    private int tolerance = 0;
+    // All letters that have been typed since the last correct word
+    private final StringBuilder typed;
+    private GameListener listener = NO_LISTENER;
+
+    // Keeps track of the number of correct words
+    private int score = 0;
+    // Time between spawns in nanoseconds
+    private long spawnInterval = 3_000_000_000L;
+    // Time of the last tick and the last spawn in nanoseconds
+    private long lastTick;
+    private long lastSpawn;
+    // False until the first tick, which always spawns a word
+    private boolean started = false;
+    // Whether tick spawns words, turned off when spawns come from somewhere else such as a replay
+    private boolean autoSpawn = true;
+
+    /**
+     * @param words uppercase words that can be spawned
+     * @param width width of the area the words move in
+     * @param height height of the area the words move in
+     * @param seed seed for every random choice the engine makes
+     * @param capacity most words that can be on the screen at once
+     */
+    public GameEngine(Dictionary words, double width, double height, long seed, int capacity) {
+        this(new WordSampler(words), width, height, seed, capacity);
+    }
+
+    /**
+     * Creates an engine that picks words with an existing sampler.
+     * Engines can share one sampler, and its dictionary, as long as
+     * nobody changes its preferences while they are running.
+     * @param sampler picks the words to spawn
+     * @param width width of the area the words move in
+     * @param height height of the area the words move in
+     * @param seed seed for every random choice the engine makes
+     * @param capacity most words that can be on the screen at once
+     */
+    public GameEngine(WordSampler sampler, double width, double height, long seed, int capacity) {
+        this.words = sampler.getDictionary();
+        this.sampler = sampler;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        lifecycle = new WordLifecycle(capacity, this::removeWord);
+        motion = new WordMotion(capacity);
+        grid = new SpatialGrid(width, height, LANE_WIDTH, LANE_HEIGHT, capacity);
+        finishedSlots = new int[capacity];
+        activeIndex = new WordTrie<>();
+        typed = new StringBuilder();
+    }
+
+    /**
+     * @param listener gets told about spawns and releases, null to stop listening
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * @param nanos time between spawns in nanoseconds
+     */
+    public void setSpawnInterval(long nanos) {
+        spawnInterval = nanos;
+    }
+
+    /**
+     * @param autoSpawn false to stop tick from spawning words, they then only spawn through spawn
+     */
+    public void setAutoSpawn(boolean autoSpawn) {
+        this.autoSpawn = autoSpawn;
+    }
+
+    /**
+     * Lets typed words with typos hit the closest active word, see FuzzyMatcher.
+     * An exact match always wins. Otherwise a word within the tolerance is only hit
+     * once what has been typed is not the start of any active word, so a word is never
+     * hit early while a longer one is still being typed correctly.
+     * @param tolerance largest edit distance that still hits a word, 0 to only hit exact matches
+     */
+    public void setTolerance(int tolerance) {
+        this.tolerance = Math.max(0, tolerance);
+        if (this.tolerance > 0 && fuzzy == null) {
+            fuzzy = new FuzzyMatcher(lifecycle.getCapacity());
+            for (int i = 0; i < typed.length(); i++) {
+                fuzzy.advance(typed.charAt(i));
+            }
+            // Added oldest first, since ties go to the word the matcher saw first
+            List<ActiveWord> live = new ArrayList<>(lifecycle.getLive());
+            live.sort(Comparator.comparingLong(ActiveWord::getSpawnOrder));
+            for (ActiveWord word : live) {
+                fuzzy.add(word.getSlot(), word.getWord());
+            }
+        }
+        else if (this.tolerance == 0) {
+            fuzzy = null;
+        }
+    }
+
+    /**
+     * Moves the game forward to the given time.
+     * Spawns a word if enough time has passed since the last one,
+     * then moves every word and expires the words that reached the end of their path.
+     * @param now current time in nanoseconds, must never go backwards
+     */
+    public void tick(long now) {
+        if (!started) {
+            started = true;
+            lastTick = now;
+            if (autoSpawn) {
+                spawnWord();
+            }
+            lastSpawn = now;
+        }
+        else if (autoSpawn && now - lastSpawn >= spawnInterval) {
+            spawnWord();
+            lastSpawn = now;
+        }
+        double seconds = (now - lastTick) / 1_000_000_000.0;
+        lastTick = now;
+
+        int finishedCount = motion.step(seconds, finishedSlots);
+        for (int i = 0; i < motion.getMovingCount(); i++) {
+            int slot = motion.getMoving(i);
+            grid.put(slot, motion.getX(slot), motion.getY(slot));
+        }
+        for (int i = 0; i < finishedCount; i++) {
+            lifecycle.expire(lifecycle.getWord(finishedSlots[i]));
+        }
+    }
+
+    /**
+     * Starts preparing spawns on a background thread, see SpawnPlanner.
+     * Does nothing if a planner is already running.
+     * @param depth number of spawns kept ready
+     * @param measurer measures how wide a word is on the screen, called here for the first
+     *                 spawns and on the planner thread after that, may be null
+     * @return the planner
+     */
+    public SpawnPlanner startSpawnPlanner(int depth, ToDoubleFunction<String> measurer) {
+        if (planner == null) {
+            plannerDepth = depth;
+            plannerMeasurer = measurer;
+            planner = new SpawnPlanner(sampler, random.split(), laneCount(), (int)width - 50, (int)(height),
+                    END_CANDIDATES, depth, measurer);
+        }
+        return planner;
+    }
+
+    /**
+     * Changes the words that are spawned from now on, for example once the full
+     * dictionary has loaded. Words already on the screen stay. A running planner is
+     * started again with the new sampler, the plans it had ready are dropped.
+     * @param sampler picks the words to spawn
+     */
+    public void setSampler(WordSampler sampler) {
+        this.sampler = sampler;
+        words = sampler.getDictionary();
+        if (planner != null) {
+            stopSpawnPlanner();
+            startSpawnPlanner(plannerDepth, plannerMeasurer);
+        }
+    }
+
+    /**
+     * Stops the background planner, spawns are worked out on the spot again
+     */
+    public void stopSpawnPlanner() {
+        if (planner != null) {
+            planner.stop();
+            planner = null;
+        }
+    }
+
+    /**
+     * Creates a random floating word.
+     * Takes the next SpawnPlan from the planner, or fills one on the spot if there is no
+     * planner. Spawns never mix the two, so they only depend on the seed and not on how
+     * far ahead the planner got. If the planner is too far behind nothing is spawned this
+     * time and the late plan is used by the next spawn. A plan holds a random word from the
+     * sampler, a random lane and a few random ending points.
+     * Then it chooses a lane on the left edge of the screen that no word is still in,
+     * starting from the planned one, and the least crowded of the ending points, and moves it
+     * there over WORD_LIFETIME_SECONDS. Crowding comes from the grid, so this costs
+     * the same no matter how many words are on the screen.
+     * @return the spawned word, or null if the dictionary has no words or the planner is behind
+     */
+    public ActiveWord spawnWord() {
+        SpawnPlan plan = planner == null ? null : planner.take();
+        if (plan == null && planner != null && planner.isAlive()) {
+            return null;
+        }
+        if (plan == null) {
+            SpawnPlanner.fill(inlinePlan, sampler, words, random, laneCount(), (int)width - 50, (int)(height));
+            return spawnPlanned(inlinePlan);
+        }
+        ActiveWord spawned = spawnPlanned(plan);
+        planner.giveBack(plan);
+        return spawned;
+    }
+
+    /**
+     * Places a planned word in a free lane towards its least crowded ending point
+     * @param plan plan to spawn
+     * @return the spawned word, or null if the plan has no word
+     */
+    private ActiveWord spawnPlanned(SpawnPlan plan) {
+        if (plan.word == null) {
+            return null;
+        }
+        double startingY = freeLane(plan.firstLane);
+        double endX = 0;
+        double endY = 0;
+        int leastCrowded = Integer.MAX_VALUE;
+        for (int i = 0; i < END_CANDIDATES && leastCrowded > 0; i++) {
+            int endingX = plan.endingX[i];
+            double candidateY = startingY + plan.endingY[i] - (height/4);
+            int crowd = grid.countIn(endingX - LANE_WIDTH, candidateY - LANE_HEIGHT,
+                    endingX + LANE_WIDTH, candidateY + LANE_HEIGHT);
+            if (crowd < leastCrowded) {
+                leastCrowded = crowd;
+                endX = endingX;
+                endY = candidateY;
+            }
+        }
+        return spawn(plan.word, plan.textWidth, 0, startingY, endX, endY, WORD_LIFETIME_SECONDS);
+    }
+
+    /**
+     * @return number of spawn lanes on the top three quarters of the left edge
+     */
+    private int laneCount() {
+        return Math.max(1, (int) ((height - (height/4)) / LANE_HEIGHT));
+    }
+
+    /**
+     * Looks through the lanes, starting at the given one, for a lane with no
+     * word still overlapping it. If every lane is taken it uses the one with the fewest words.
+     * @param first lane to look at first
+     * @return y position of the lane
+     */
+    private double freeLane(int first) {
+        int lanes = laneCount();
+        int bestLane = first;
+        int leastCrowded = Integer.MAX_VALUE;
+        for (int i = 0; i < lanes && leastCrowded > 0; i++) {
+            int lane = (first + i) % lanes;
+            double y = lane * LANE_HEIGHT;
+            int crowd = grid.countIn(0, y - LANE_HEIGHT + 1, LANE_WIDTH - 1, y + LANE_HEIGHT - 1);
+            if (crowd < leastCrowded) {
+                leastCrowded = crowd;
+                bestLane = lane;
+            }
+        }
+        return bestLane * LANE_HEIGHT;
+    }
+
+    /**
+     * Spawns a specific word on a specific path.
+     * The word goes through the lifecycle, which may expire the oldest
+     * word if there are already too many on the screen.
+     * @param word uppercase word to spawn
+     * @param startX starting x position
+     * @param startY starting y position
+     * @param endX x position at the end of the path
+     * @param endY y position at the end of the path
+     * @param seconds time it takes to get to the end
+     * @return the spawned word
+     */
+    public ActiveWord spawn(String word, double startX, double startY, double endX, double endY, double seconds) {
+        return spawn(word, -1, startX, startY, endX, endY, seconds);
+    }
+
+    /**
+     * Spawns a word whose width on the screen may already be known
+     * @param word uppercase word to spawn
+     * @param textWidth width of the word on the screen, -1 if it is not known
+     * @param startX starting x position
+     * @param startY starting y position
+     * @param endX x position at the end of the path
+     * @param endY y position at the end of the path
+     * @param seconds time it takes to get to the end
+     * @return the spawned word
+     */
+    private ActiveWord spawn(String word, double textWidth, double startX, double startY,
+                             double endX, double endY, double seconds) {
+        ActiveWord activeWord = lifecycle.spawn(word);
+        activeWord.setTextWidth(textWidth);
+        motion.start(activeWord.getSlot(), startX, startY, endX, endY, seconds);
+        grid.put(activeWord.getSlot(), startX, startY);
+        activeIndex.add(word, activeWord);
+        if (fuzzy != null) {
+            fuzzy.add(activeWord.getSlot(), word);
+        }
+        listener.onSpawn(activeWord, startX, startY, endX, endY, seconds);
+        lifecycle.goLive(activeWord);
+        return activeWord;
+    }
+
+    /**
+     * Adds a letter to what has been typed and checks for a correct word.
+     * The letter moves the activeIndex cursor by one, and the fuzzy matcher if there is one,
+     * so checking for a correct word does not have to rebuild the typed string.
+     * @param letter uppercase letter
+     * @return the word that was hit or null
+     */
+    public ActiveWord typeLetter(char letter) {
+        typed.append(letter);
+        activeIndex.advance(letter);
+        if (fuzzy != null) {
+            fuzzy.advance(letter);
+        }
+        return checkForCorrectWord();
+    }
+
+    /**
+     * Removes the last typed letter, does nothing if nothing has been typed
+     */
+    public void backspace() {
+        if (typed.length() > 0) {
+            typed.setLength(typed.length() - 1);
+            activeIndex.retreat();
+            if (fuzzy != null) {
+                fuzzy.retreat();
+            }
+        }
+    }
+
+    /**
+     * Checks if what has been typed is equal to any of the currently
+     * active words by asking the activeIndex where its cursor is.
+     * If not, and there is a tolerance, asks the fuzzy matcher for a close word
+     * once no active word starts with what has been typed.
+     * If there is a match then it updates the score, clears the typed letters and hits the word.
+     * @return the word that was hit or null
+     */
+    private ActiveWord checkForCorrectWord() {
+        ActiveWord activeWord = activeIndex.match();
+        if (activeWord == null && fuzzy != null && activeIndex.viableCount() == 0) {
+            int slot = fuzzy.match(tolerance);
+            activeWord = slot == -1 ? null : lifecycle.getWord(slot);
+        }
+        if (activeWord != null) {
+            score++;
+            typed.setLength(0);
+            activeIndex.reset();
+            if (fuzzy != null) {
+                fuzzy.reset();
+            }
+            lifecycle.hit(activeWord);
+        }
+        return activeWord;
+    }
+
+    /**
+     * Called by the lifecycle when a word is hit or expires.
+     * Stops the word moving and removes it from the grid and the activeIndex,
+     * then tells the listener.
+     * @param word ActiveWord being released
+     */
+    private void removeWord(ActiveWord word) {
+        motion.stop(word.getSlot());
+        grid.remove(word.getSlot());
+        activeIndex.remove(word.getWord(), word);
+        if (fuzzy != null) {
+            fuzzy.remove(word.getSlot());
+        }
+        listener.onRelease(word);
+    }
+
+    /**
+     * @return number of correct words
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return letters typed since the last correct word
+     */
+    public CharSequence getTyped() {
+        return typed;
+    }
+
+    /**
+     * @return largest edit distance that still hits a word, 0 if only exact matches hit
+     */
+    public int getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @return number of active words that still start with what has been typed
+     */
+    public int getViableCount() {
+        return activeIndex.viableCount();
+    }
+
+    /**
+     * getter for the sampler, which can be used to change the difficulty
+     * @return sampler
+     */
+    public WordSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * getter for the lifecycle, which has the spawned/hit/expired/live counters
+     * @return lifecycle
+     */
+    public WordLifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * getter for the positions of every moving word
+     * @return motion
+     */
+    public WordMotion getMotion() {
+        return motion;
+    }
+
+    /**
+     * getter for the grid of word positions, which can find a word's neighbours
+     * @return grid
+     */
+    public SpatialGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return seed for every random choice the engine makes
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return width of the area the words move in
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return height of the area the words move in
+     */
+    public double getHeight() {
+        return height;
+    }
+}
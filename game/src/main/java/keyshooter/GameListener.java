@@ -0,0 +1,30 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Receives what happens inside a GameEngine so it can be shown on the screen.
+ * Every method does nothing by default so a listener only has to handle what it needs.
+ */
+public interface GameListener {
+    /**
+     * Called when a word is spawned and is about to start moving.
+     * The word moves in a straight line from the start to the end.
+     * @param word word that was spawned
+     * @param startX starting x position
+     * @param startY starting y position
+     * @param endX x position at the end of the path
+     * @param endY y position at the end of the path
+     * @param seconds time it takes to get to the end
+     */
+    default void onSpawn(ActiveWord word, double startX, double startY,
+                         double endX, double endY, double seconds) {
+    }
+
+    /**
+     * Called when a word is hit or expires, check its state to see which.
+     * When a word is hit the score has already been updated.
+     * @param word word being released
+     */
+    default void onRelease(ActiveWord word) {
+    }
+}
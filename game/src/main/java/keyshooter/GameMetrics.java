@@ -0,0 +1,225 @@
+package keyshooter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Corey Walker
+ * Measures how the game loop performs. Called from the AnimationTimer at the start
+ * and end of every frame, it records into Histograms:
+ *   the time between frames,
+ *   the time spent inside AnimationTimer.handle,
+ *   the time from a key press until the end of the frame that applied it,
+ *   the number of nodes in the words pane,
+ *   the bytes allocated by the JavaFX thread between frames.
+ * Recording does not allocate. The histograms can be written to a JSON or CSV file.
+ * It also notes how long after the JVM started the first frame came and
+ * the game became playable, which the JSON file includes.
+ */
+public class GameMetrics {
+    // Most key presses applied in one frame that get a latency recorded
+    private static final int MAX_KEYS_PER_FRAME = 256;
+
+    private final Histogram frameInterval = new Histogram("frame_interval_ns");
+    private final Histogram handleDuration = new Histogram("handle_duration_ns");
+    private final Histogram keyLatency = new Histogram("key_latency_ns");
+    private final Histogram nodeCount = new Histogram("words_pane_nodes");
+    private final Histogram frameAllocation = new Histogram("allocated_bytes_per_frame");
+    private final Histogram[] all = {frameInterval, handleDuration, keyLatency, nodeCount, frameAllocation};
+
+    // Press times of the keys applied during the current frame
+    private final long[] keyTimes = new long[MAX_KEYS_PER_FRAME];
+    private int keyCount = 0;
+    // HotSpot's thread bean can report allocated bytes, null on JVMs without it
+    private final com.sun.management.ThreadMXBean threads;
+    // Values from the last frame start
+    private long lastFrame = 0;
+    private long lastAllocated = -1;
+    private long frameStart;
+    // Last values, shown by the HUD
+    private int lastNodeCount = 0;
+    private double allocationRate = 0;
+    // Milliseconds from the JVM starting to the first frame and to the game being playable, -1 until then
+    private long firstFrameMillis = -1;
+    private long playableMillis = -1;
+
+    public GameMetrics() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        else {
+            threads = null;
+        }
+    }
+
+    /**
+     * Called first thing in AnimationTimer.handle
+     * @param now pulse time passed to handle
+     */
+    public void frameStart(long now) {
+        frameStart = System.nanoTime();
+        if (lastFrame != 0) {
+            frameInterval.record(now - lastFrame);
+        }
+        if (threads != null) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            if (lastAllocated >= 0) {
+                long bytes = allocated - lastAllocated;
+                frameAllocation.record(bytes);
+                if (lastFrame != 0 && now > lastFrame) {
+                    allocationRate = bytes * 1_000_000_000.0 / (now - lastFrame);
+                }
+            }
+            lastAllocated = allocated;
+        }
+        lastFrame = now;
+    }
+
+    /**
+     * Called for every key applied during this frame
+     * @param pressTime System.nanoTime() when the key was pressed
+     */
+    public void keyApplied(long pressTime) {
+        if (keyCount < MAX_KEYS_PER_FRAME) {
+            keyTimes[keyCount++] = pressTime;
+        }
+    }
+
+    /**
+     * Called last thing in AnimationTimer.handle, once everything for the frame is on the screen
+     * @param nodes number of nodes in the words pane
+     */
+    public void frameEnd(int nodes) {
+        long end = System.nanoTime();
+        handleDuration.record(end - frameStart);
+        for (int i = 0; i < keyCount; i++) {
+            keyLatency.record(end - keyTimes[i]);
+        }
+        keyCount = 0;
+        nodeCount.record(nodes);
+        lastNodeCount = nodes;
+    }
+
+    /**
+     * @return histogram of time between frames in nanoseconds
+     */
+    public Histogram getFrameInterval() {
+        return frameInterval;
+    }
+
+    /**
+     * @return histogram of time spent in handle in nanoseconds
+     */
+    public Histogram getHandleDuration() {
+        return handleDuration;
+    }
+
+    /**
+     * @return histogram of key press to end of frame in nanoseconds
+     */
+    public Histogram getKeyLatency() {
+        return keyLatency;
+    }
+
+    /**
+     * @return histogram of words pane node counts
+     */
+    public Histogram getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return histogram of bytes allocated between frames
+     */
+    public Histogram getFrameAllocation() {
+        return frameAllocation;
+    }
+
+    /**
+     * @return nodes in the words pane at the end of the last frame
+     */
+    public int getLastNodeCount() {
+        return lastNodeCount;
+    }
+
+    /**
+     * @return bytes per second allocated by the JavaFX thread over the last frame, 0 if unknown
+     */
+    public double getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * Notes the time of the first frame, only the first call counts
+     */
+    public void markFirstFrame() {
+        if (firstFrameMillis < 0) {
+            firstFrameMillis = sinceJvmStart();
+        }
+    }
+
+    /**
+     * Notes the time the game became playable, only the first call counts
+     */
+    public void markPlayable() {
+        if (playableMillis < 0) {
+            playableMillis = sinceJvmStart();
+        }
+    }
+
+    /**
+     * @return milliseconds since the JVM started
+     */
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    /**
+     * @return milliseconds from the JVM starting to the first frame, -1 if there has not been one
+     */
+    public long getFirstFrameMillis() {
+        return firstFrameMillis;
+    }
+
+    /**
+     * @return milliseconds from the JVM starting to the game being playable, -1 if it is not yet
+     */
+    public long getPlayableMillis() {
+        return playableMillis;
+    }
+
+    /**
+     * Writes every histogram to a file, as CSV if the name ends in .csv and as JSON otherwise
+     * @param path file to write
+     * @throws IOException thrown when the file cannot be written
+     */
+    public void writeTo(Path path) throws IOException {
+        StringBuilder out = new StringBuilder();
+        if (path.toString().endsWith(".csv")) {
+            out.append("metric,lowest,highest,count,cumulative_percent\n");
+            for (Histogram histogram : all) {
+                histogram.appendCsv(out);
+            }
+        }
+        else {
+            out.append('{');
+            for (int i = 0; i < all.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append('"').append(all[i].getName()).append("\":");
+                all[i].appendJson(out);
+            }
+            out.append(",\"first_frame_ms\":").append(firstFrameMillis);
+            out.append(",\"playable_ms\":").append(playableMillis);
+            out.append("}\n");
+        }
+        Files.write(path, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,204 @@
+package keyshooter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Corey Walker
+ * Fixed size histogram of non-negative longs, in the style of HdrHistogram.
+ * Values below 64 get a bucket each; above that every power of two is split into
+ * 32 buckets, so any value is off by at most about 3% and the memory never grows.
+ * Recording is one array increment with no locks and no allocation, and it is safe
+ * to record from one thread while another reads.
+ */
+public class Histogram {
+    // Values below this have a bucket each
+    private static final int LINEAR = 64;
+    // Buckets for each power of two above LINEAR
+    private static final int SUB_BUCKETS = 32;
+    // Highest shift covered, so values up to 2^40 are split into buckets as above and larger
+    // ones all go in the last bucket (2^40 nanoseconds is about 18 minutes)
+    private static final int MAX_SHIFT = 34;
+    private static final int BUCKETS = LINEAR + MAX_SHIFT * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param name name used when the histogram is exported
+     */
+    public Histogram(String name) {
+        this.name = name;
+        counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Records one value, negative values count as 0
+     * @param value value to record
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long oldMax;
+        while (value > (oldMax = max.get()) && !max.compareAndSet(oldMax, value)) {
+            // Another thread raised the max, try again
+        }
+    }
+
+    /**
+     * Adds every value recorded by another histogram to this one
+     * @param other histogram to add, should not be recorded into at the same time
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount > 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        sum.addAndGet(other.sum.get());
+        long otherMax = other.max.get();
+        long oldMax;
+        while (otherMax > (oldMax = max.get()) && !max.compareAndSet(oldMax, otherMax)) {
+            // Another thread raised the max, try again
+        }
+    }
+
+    /**
+     * @param value value to find
+     * @return index of the bucket the value goes in
+     */
+    private static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        // Shift so the top bit lands at position 5, leaving 32 to 63
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 5;
+        if (shift > MAX_SHIFT) {
+            return BUCKETS - 1;
+        }
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @param bucket index of a bucket
+     * @return smallest value that goes in the bucket
+     */
+    private static long lowestValueOf(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR) / SUB_BUCKETS + 1;
+        return (long) ((bucket - LINEAR) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @param bucket index of a bucket
+     * @return largest value that goes in the bucket
+     */
+    private static long highestValueOf(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowestValueOf(bucket + 1) - 1;
+    }
+
+    /**
+     * Finds the value at a percentile, accurate to the bucket size
+     * @param percentile between 0 and 100
+     * @return highest value of the bucket holding that percentile, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * @return name of the histogram
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of values recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return largest value recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return average of the values recorded, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+
+    /**
+     * Writes the histogram as a JSON object with a summary and every bucket that has values
+     * @param out where to write
+     */
+    public void appendJson(StringBuilder out) {
+        out.append("{\"count\":").append(getCount())
+                .append(",\"mean\":").append(getMean())
+                .append(",\"p50\":").append(getPercentile(50))
+                .append(",\"p90\":").append(getPercentile(90))
+                .append(",\"p99\":").append(getPercentile(99))
+                .append(",\"p999\":").append(getPercentile(99.9))
+                .append(",\"max\":").append(getMax())
+                .append(",\"buckets\":[");
+        boolean first = true;
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append('[').append(lowestValueOf(i)).append(',').append(bucketCount).append(']');
+            }
+        }
+        out.append("]}");
+    }
+
+    /**
+     * Writes one CSV row per bucket that has values:
+     * name,lowest value,highest value,count,cumulative percent
+     * @param out where to write
+     */
+    public void appendCsv(StringBuilder out) {
+        long total = getCount();
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                seen += bucketCount;
+                out.append(name).append(',').append(lowestValueOf(i)).append(',')
+                        .append(highestValueOf(i)).append(',').append(bucketCount).append(',')
+                        .append(100.0 * seen / total).append('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package keyshooter;
+
+import javafx.scene.input.KeyCode;
+
+/**
+ * Corey Walker
+ * Ring buffer of key presses waiting for the next frame.
+ * The key handler only records the key and the time it was pressed; the
+ * AnimationTimer drains everything once per frame so a burst of keys
+ * costs one round of label and keyboard updates instead of one per key.
+ * The buffer is allocated once. If it fills up between frames new keys are dropped and counted.
+ * Both ends are used from the JavaFX application thread.
+ */
+public class KeyEventQueue {
+    /**
+     * Gets each key when the queue is drained
+     */
+    public interface Handler {
+        /**
+         * @param keyCode key that was pressed
+         * @param time System.nanoTime() when it was pressed
+         */
+        void onKey(KeyCode keyCode, long time);
+    }
+
+    // All KeyCodes, indexed by ordinal, so the buffer can hold ints
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+
+    // Ordinal of each queued key
+    private final int[] keys;
+    // Time each queued key was pressed
+    private final long[] times;
+    // Capacity - 1, the capacity is a power of two
+    private final int mask;
+    // Total keys ever added and ever drained, their difference is the queue size
+    private long head = 0;
+    private long tail = 0;
+
+    // Metrics
+    private long framesDrained = 0;
+    private long framesWithKeys = 0;
+    private long keysDrained = 0;
+    private int maxKeysPerFrame = 0;
+    private int highWaterMark = 0;
+    private long dropped = 0;
+
+    /**
+     * @param capacity most keys that can wait for a frame, rounded up to a power of two
+     */
+    public KeyEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        keys = new int[size];
+        times = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a key to the queue, or drops it if the queue is full
+     * @param keyCode key that was pressed
+     * @param time System.nanoTime() when it was pressed
+     * @return false if the key was dropped
+     */
+    public boolean offer(KeyCode keyCode, long time) {
+        int size = (int) (tail - head);
+        if (size == keys.length) {
+            dropped++;
+            return false;
+        }
+        int index = (int) (tail & mask);
+        keys[index] = keyCode.ordinal();
+        times[index] = time;
+        tail++;
+        highWaterMark = Math.max(highWaterMark, size + 1);
+        return true;
+    }
+
+    /**
+     * Hands every waiting key to the handler in the order they were pressed
+     * and records how many keys this frame had
+     * @param handler gets each key
+     * @return number of keys drained
+     */
+    public int drain(Handler handler) {
+        int count = 0;
+        while (head < tail) {
+            int index = (int) (head & mask);
+            head++;
+            count++;
+            handler.onKey(KEY_CODES[keys[index]], times[index]);
+        }
+        framesDrained++;
+        if (count > 0) {
+            framesWithKeys++;
+            keysDrained += count;
+            maxKeysPerFrame = Math.max(maxKeysPerFrame, count);
+        }
+        return count;
+    }
+
+    /**
+     * @return number of keys waiting
+     */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * @return number of times drain was called
+     */
+    public long getFramesDrained() {
+        return framesDrained;
+    }
+
+    /**
+     * @return number of drains that had at least one key
+     */
+    public long getFramesWithKeys() {
+        return framesWithKeys;
+    }
+
+    /**
+     * @return number of keys handed to a handler
+     */
+    public long getKeysDrained() {
+        return keysDrained;
+    }
+
+    /**
+     * @return most keys drained in one frame
+     */
+    public int getMaxKeysPerFrame() {
+        return maxKeysPerFrame;
+    }
+
+    /**
+     * @return most keys that were ever waiting at once
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * @return number of keys dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return one line describing the queue metrics
+     */
+    public String getSummary() {
+        double keysPerFrame = framesWithKeys == 0 ? 0 : (double) keysDrained / framesWithKeys;
+        return String.format("keys: %d over %d frames (%.2f per frame with keys, max %d), high water %d, dropped %d",
+                keysDrained, framesWithKeys, keysPerFrame, maxKeysPerFrame, highWaterMark, dropped);
+    }
+}
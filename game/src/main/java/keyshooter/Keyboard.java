@@ -0,0 +1,225 @@
+package keyshooter;
+
+import javafx.animation.FillTransition;
+import javafx.animation.SequentialTransition;
+import javafx.geometry.Pos;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+import java.util.*;
+
+/**
+ * Corey Walker
+ * Class for dealing with the keyboard displayed on the screen
+ * A keyboard has a list of keycodes for letters taken from a KeyboardLayout,
+ * arrays indexed by KeyCode.ordinal() holding each key's gui representation and flash animation,
+ * and the GUI elements to display the keyboard
+ */
+public class Keyboard {
+    // 2 Dimensional list representing the rows of keys on the keyboard
+    // Letter keys only
+    private final List<List<KeyCode>> keyCodes;
+    // Each key's JavaFX representation, indexed by KeyCode.ordinal(), null for keys not on the keyboard
+    private final WordBox[] keyWordBoxes;
+    // Each key's flash animation, indexed by KeyCode.ordinal(), made once and restarted on every press
+    private final SequentialTransition[] keyFlashes;
+    // Keys pressed since the last flushPresses, marked by ordinal and listed in press order
+    private final boolean[] pending;
+    private final int[] pendingKeys;
+    private int pendingCount = 0;
+    // JavaFX control that represents the keyboard on the screen
+    private final VBox keyboard;
+    // Cached images of the letters, null if the keys use Labels
+    private final WordSpriteCache sprites;
+    // Width of the screen and space between each key, kept to build the keys later
+    private final double width;
+    private final double spacing;
+    // Whether the keys have been added to the keyboard yet
+    private boolean built = false;
+    // Color that the keys are by default
+    private static final Color from = Color.color(0.9, 0.9, 0.9);
+    // Color that the keys become when pressed
+    private static final Color to = Color.color(0.3, 0.3, 0.8);
+    // Color of the keys that gave the player the most trouble on the heatmap
+    private static final Color heat = Color.color(0.9, 0.2, 0.1);
+    // How long it takes a key to change color each way
+    private static final Duration pressDuration = Duration.millis(100);
+    private static final Duration releaseDuration = Duration.millis(300);
+
+    /**
+     * @param width width of the screen
+     * @param height height of the keyboard
+     * @param spacing space between each key
+     * @param layout letters on each row
+     * @param sprites cached images for the letters on the keys, null to use Labels
+     * @param buildNow false to leave the keyboard empty until build is called,
+     *                 key presses before then are ignored
+     */
+    public Keyboard(double width, double height, double spacing, KeyboardLayout layout,
+                    WordSpriteCache sprites, boolean buildNow) {
+        this.sprites = sprites;
+        this.width = width;
+        this.spacing = spacing;
+        keyCodes = initializeKeys(layout);
+        keyWordBoxes = new WordBox[KeyCode.values().length];
+        keyFlashes = new SequentialTransition[KeyCode.values().length];
+        pending = new boolean[KeyCode.values().length];
+        pendingKeys = new int[KeyCode.values().length];
+
+        keyboard = new VBox(spacing);
+        keyboard.setPrefHeight(height/4);
+        keyboard.setAlignment(Pos.CENTER);
+        if (buildNow) {
+            build();
+        }
+    }
+
+    /**
+     * @return true once the keys are on the keyboard
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Adds the keys to the keyboard, does nothing if they are already there
+     */
+    public void build() {
+        if (!built) {
+            built = true;
+            initializeKeyboard(width, keyCodes, spacing);
+        }
+    }
+
+    /**
+     * getter for the keyboard VBox GUI element
+     * @return
+     */
+    public VBox getKeyboard() {
+        return keyboard;
+    }
+
+    /**
+     * Looks up the key's flash animation by its ordinal.
+     * If the key is on the keyboard it restarts the flash, a SequentialTransition of two
+     * FillTransitions (https://openjfx.io/javadoc/18/javafx.graphics/javafx/animation/FillTransition.html)
+     * going from the from color to the to color and back again.
+     * Pressing a key again while it is still flashing starts the flash over.
+     * If the keyCode is not on the keyboard then it does nothing.
+     * @param keyCode KeyCode to lookup and flash
+     */
+    public void startFillTransition(KeyCode keyCode) {
+        SequentialTransition flash = keyFlashes[keyCode.ordinal()];
+        if (flash != null) {
+            flash.playFromStart();
+        }
+    }
+
+    /**
+     * Remembers that a key was pressed so it flashes on the next flushPresses.
+     * Pressing the same key several times before then only flashes it once.
+     * @param keyCode KeyCode that was pressed
+     */
+    public void pressKey(KeyCode keyCode) {
+        int ordinal = keyCode.ordinal();
+        if (keyFlashes[ordinal] != null && !pending[ordinal]) {
+            pending[ordinal] = true;
+            pendingKeys[pendingCount++] = ordinal;
+        }
+    }
+
+    /**
+     * Starts the flash of every key pressed since the last call, called once per frame
+     */
+    public void flushPresses() {
+        for (int i = 0; i < pendingCount; i++) {
+            int ordinal = pendingKeys[i];
+            pending[ordinal] = false;
+            keyFlashes[ordinal].playFromStart();
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Colors every letter key between its normal color and red by how much
+     * trouble it gave the player, stopping any flash still running.
+     * @param trouble 26 values between 0 and 1, A first, see TypingStats.getTroubleMap
+     */
+    public void showHeatmap(double[] trouble) {
+        for (int l = 0; l < trouble.length; l++) {
+            int ordinal = KeyCode.getKeyCode(String.valueOf((char) ('A' + l))).ordinal();
+            if (keyWordBoxes[ordinal] != null) {
+                keyFlashes[ordinal].stop();
+                keyWordBoxes[ordinal].getRect().setFill(from.interpolate(heat, trouble[l]));
+            }
+        }
+    }
+
+    /**
+     * Creates the 2D list that represents the keyboard from the layout.
+     * Each row is an element of the outer list and each inner list
+     * contains all the letter keys in that row. All letters are uppercase.
+     * @param layout letters on each row of the keyboard
+     * @return 2D list representing the letters on the keyboard
+     */
+    private List<List<KeyCode>> initializeKeys(KeyboardLayout layout) {
+        List<List<KeyCode>> keyRows = new ArrayList<>();
+
+        for (int i = 0; i < layout.getRowCount(); i++) {
+            String letters = layout.getRow(i);
+            List<KeyCode> row = new ArrayList<>();
+            for (int j = 0; j < letters.length(); j++) {
+                row.add(KeyCode.getKeyCode(String.valueOf(letters.charAt(j))));
+            }
+            keyRows.add(row);
+        }
+
+        return keyRows;
+    }
+
+    /**
+     * Fills in the JavaFX control that visualized the keyboard on the screen
+     * Also fills in keyWordBoxes and keyFlashes as it goes.
+     * It deduces the size of each key using the longest row of the 2D list
+     * and the width parameter. Then loops over the 2D list and creates an HBox for each row
+     * and JavaFX controls, WordBox, to represent each key and adds them to the HBox.
+     * Then adds the row HBox to the VBox. It also stores the WordBox and its
+     * flash animation under the key's ordinal. Then it moves on to the next row.
+     * @param width Width of the screen
+     * @param keyCodes 2D list that holds all the letters on the keyboard
+     * @param spacing Space between each key
+     */
+    private void initializeKeyboard(double width, List<List<KeyCode>> keyCodes, double spacing) {
+        WordBox letterBox;
+        int longestRow = 0;
+        for (List<KeyCode> row : keyCodes) {
+            longestRow = Math.max(longestRow, row.size());
+        }
+        double keySize = width / (longestRow + spacing);
+        String letter;
+
+        for (int i = 0; i < keyCodes.size(); i++){
+            HBox row = new HBox(spacing);
+            row.setAlignment(Pos.CENTER);
+            if (i == 0) {
+                row.setPrefWidth(width);
+            }
+
+            for (int j = 0; j < keyCodes.get(i).size(); j++){
+                KeyCode keyCode = keyCodes.get(i).get(j);
+                letter = keyCode.toString();
+                letterBox = new WordBox(keySize, letter, from, sprites);
+                keyWordBoxes[keyCode.ordinal()] = letterBox;
+                keyFlashes[keyCode.ordinal()] = new SequentialTransition(
+                        new FillTransition(pressDuration, letterBox.getRect(), from, to),
+                        new FillTransition(releaseDuration, letterBox.getRect(), to, from));
+                row.getChildren().add(letterBox.getWordBox());
+            }
+
+            keyboard.getChildren().add(row);
+        }
+    }
+}
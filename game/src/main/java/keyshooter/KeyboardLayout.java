@@ -0,0 +1,34 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Letter keys of a keyboard layout, row by row from the top.
+ * Only letters are listed since those are the only keys the game uses.
+ */
+public enum KeyboardLayout {
+    QWERTY("QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"),
+    DVORAK("PYFGCRL", "AOEUIDHTNS", "QJKXBMWVZ"),
+    AZERTY("AZERTYUIOP", "QSDFGHJKLM", "WXCVBN");
+
+    // Letters of each row, left to right
+    private final String[] rows;
+
+    KeyboardLayout(String... rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    /**
+     * @param row row index, 0 is the top row
+     * @return letters of the row from left to right
+     */
+    public String getRow(int row) {
+        return rows[row];
+    }
+}
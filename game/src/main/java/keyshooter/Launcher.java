@@ -0,0 +1,13 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Plain entry point for running the game from a class path, such as with an AppCDS archive.
+ * The java launcher refuses a main class that extends Application unless JavaFX
+ * is on the module path, so this one just hands over to Main.
+ */
+public class Launcher {
+    public static void main(String[] args) {
+        Main.main(args);
+    }
+}
@@ -0,0 +1,318 @@
+package keyshooter;
+
+/**
+ * Corey Walker Assignment4
+ * Typing game with GUI
+ * This class is the main method to run the game.
+ * The class sets up the GUI elements and handles animation
+ */
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+public class Main extends Application {
+    // Options for this run
+    private Settings settings;
+    // Frame time measurements, written to settings.getMetricsFile() on exit
+    private final GameMetrics metrics = new GameMetrics();
+    private boolean metricsWritten = false;
+    // Records the session to settings.getRecordFile(), null when not recording
+    private SessionRecorder recorder;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    /**
+     * Setups up all the JavaFX GUI controls and creates instances of
+     * all the helper classes.
+     * @param primaryStage the primary stage for this application, onto which
+     * the application scene can be set.
+     * Applications may create other stages, if needed, but they will not be
+     * primary stages.
+     * @throws Exception
+     */
+    @Override
+    public void start(Stage primaryStage) throws Exception {
+        // Always make sure to set the title of the window
+        primaryStage.setTitle("Key Shooter");
+        // Options from the command line, e.g. --movement=timer, --renderer=canvas, --seed=42,
+        // --difficulty=0.5, --layout=dvorak, --fuzzy=1, --sprites=8m, --metrics=metrics.json, --record=off,
+        // --start=fast or --replay=sessions/session-1.ksr --replay-speed=2x
+        settings = Settings.fromParameters(getParameters().getNamed());
+        // Width/height variables so that we can mess with the size of the window
+        double width = 600;
+        double height = 600;
+        // BorderPane (https://openjfx.io/javadoc/18/javafx.graphics/javafx/scene/layout/BorderPane.html)
+        // Provides the basis which we basis the rest of the GUI on
+        BorderPane window = new BorderPane();
+        // VBox for the top part of the GUI
+        VBox topVBox = new VBox(5);
+        topVBox.setAlignment(Pos.CENTER);
+        // Label which displays the score
+        Label scoreLabel = new Label("0");
+        scoreLabel.setFont(new Font(40));
+        // Button to end the game
+        Button endButton = new Button("End");
+
+        // Slider to change how often a word shows up on screen
+        Slider wordsFrequencySlider = new Slider(1, 5, 3);
+        wordsFrequencySlider.setMajorTickUnit(1);
+        wordsFrequencySlider.setShowTickMarks(true);
+        wordsFrequencySlider.setShowTickLabels(true);
+
+        // add to hbox
+        HBox controls = new HBox(5);
+        controls.getChildren().addAll(endButton, wordsFrequencySlider);
+        // Label which displays the currently typed letters
+        Label typedLabel = new Label();
+        typedLabel.setFont(new Font(40));
+        // Add them all to the VBox
+        topVBox.getChildren().addAll(controls, scoreLabel, typedLabel);
+        // Put them in the top of the BorderPane
+        window.setTop(topVBox);
+        // Create an instance of our helper Words class
+        // Words and keys are drawn once to an image and reused, unless --sprites=off
+        WordSpriteCache sprites = settings.getSpriteBudget() > 0
+                ? new WordSpriteCache(settings.getSpriteBudget(), Screen.getPrimary().getOutputScaleX())
+                : null;
+        Words words = new Words("./docs/words.txt", width, (height * 3) / 4,
+                                scoreLabel, typedLabel, settings, sprites);
+        // Each key and the time it was pressed go into a queue
+        // that is drained once per frame by the AnimationTimer
+        KeyEventQueue keyQueue = new KeyEventQueue(256);
+        // Overlay showing frame times and the key queue, toggled with F3
+        MetricsHud hud = new MetricsHud(metrics, words.getStats(), sprites, keyQueue);
+        // Put the words and the overlay on top of each other in the middle of the BorderPane
+        StackPane center = new StackPane(words.getWordsPane(), hud.getLabel());
+        StackPane.setAlignment(hud.getLabel(), Pos.TOP_LEFT);
+        window.setCenter(center);
+        // Either record this session or play an old one back
+        SessionReplay replay = null;
+        if (settings.getReplayFile() != null) {
+            replay = SessionReplay.open(Paths.get(settings.getReplayFile()));
+            words.getEngine().setAutoSpawn(false);
+            if (replay.getCapacity() != words.getEngine().getLifecycle().getCapacity()) {
+                System.err.println("Session was recorded with a capacity of " + replay.getCapacity()
+                        + " words, replay may not match");
+            }
+        }
+        else if (settings.getRecordFile() != null) {
+            recorder = new SessionRecorder(Paths.get(settings.getRecordFile()), words.getEngine(), System.nanoTime());
+            words.setRecorder(recorder);
+        }
+        // Keep the spawn frequency in sync with the slider
+        words.setSpawnFrequency(wordsFrequencySlider.getValue());
+        wordsFrequencySlider.valueProperty().addListener(
+                (observable, oldValue, newValue) -> words.setSpawnFrequency(newValue.doubleValue()));
+        // Create a VBox for the keyboard
+        VBox keyBoardWindow = new VBox(10);
+        // Create an instance of our helper class Keyboard
+        // A fast start leaves the keys out until after the first frame
+        boolean fastStart = settings.getStartup() != Settings.Startup.NORMAL;
+        Keyboard keyboard = new Keyboard(width, height / 4, 10, settings.getLayout(), sprites, !fastStart);
+        // Add a horizontal line above the keyboard to create clear seperation
+        keyBoardWindow.getChildren().addAll(new Separator(Orientation.HORIZONTAL), keyboard.getKeyboard());
+        // Put it in the bottom of the BorderPane
+        window.setBottom(keyBoardWindow);
+        // Create the scene
+        Scene scene = new Scene(window, width, height);
+        // The scene is the best place to capture keyboard input
+        scene.setOnKeyPressed(event -> keyQueue.offer(event.getCode(), System.nanoTime()));
+        // For every queued key, mark it to blink on the keyboard
+        // and add it to the typed letters. F3 shows or hides the overlay.
+        // While replaying the keys come from the log instead.
+        boolean replaying = replay != null;
+        KeyEventQueue.Handler keyHandler = (keyCode, time) -> {
+            if (keyCode == KeyCode.F3) {
+                hud.toggle();
+            }
+            if (replaying) {
+                return;
+            }
+            keyboard.pressKey(keyCode);
+            words.applyKey(keyCode, time);
+            metrics.keyApplied(time);
+        };
+        // Plays the log into the engine, blinking the replayed keys on the keyboard
+        SessionReplay.Handler engineReplay = SessionReplay.into(words.getEngine());
+        SessionReplay.Handler replayHandler = new SessionReplay.Handler() {
+            @Override
+            public void onTick(long time) {
+                engineReplay.onTick(time);
+            }
+
+            @Override
+            public void onKey(long time, char key) {
+                keyboard.pressKey(key == '\b' ? KeyCode.BACK_SPACE : KeyCode.getKeyCode(String.valueOf(key)));
+                words.typeKey(key, time);
+            }
+
+            @Override
+            public void onSpawn(long time, String word, double startX, double startY,
+                                double endX, double endY, double seconds) {
+                engineReplay.onSpawn(time, word, startX, startY, endX, endY, seconds);
+            }
+
+            @Override
+            public void onTolerance(long time, int tolerance) {
+                engineReplay.onTolerance(time, tolerance);
+            }
+        };
+        // Set the scene
+        primaryStage.setScene(scene);
+        // Showtime!
+        primaryStage.show();
+
+        // We also need an AnimationTimer to drive the game. Every frame
+        // it applies the keys pressed since the last frame, blinks them,
+        // then calls update from the Words class, which moves the game engine
+        // forward. The engine creates a word every few seconds as set by the slider.
+        // The labels are updated once at the end of the frame.
+        // The whole frame is measured by metrics.
+        // When replaying, the log is played up to the matching time instead.
+        SessionReplay replayLog = replay;
+        AnimationTimer timer = new AnimationTimer() {
+            // Time of the first frame, used to line the replay up with the log
+            private long firstFrame = -1;
+
+            @Override
+            public void handle(long now) {
+                metrics.frameStart(now);
+                keyQueue.drain(keyHandler);
+                if (replayLog == null) {
+                    keyboard.flushPresses();
+                    words.update(now);
+                }
+                else {
+                    if (firstFrame < 0) {
+                        firstFrame = now;
+                    }
+                    double speed = settings.getReplaySpeed();
+                    long until = Double.isInfinite(speed) ? Long.MAX_VALUE
+                            : replayLog.getStartTime() + (long) ((now - firstFrame) * speed);
+                    replayLog.replayUntil(until, replayHandler);
+                    keyboard.flushPresses();
+                    words.render();
+                }
+                words.refreshLabels();
+                hud.refresh(now, words.getEngine().getLifecycle().getLiveCount());
+                metrics.frameEnd(words.getWordsPane().getChildren().size());
+                // Startup timing. The game is playable once the dictionary and the keyboard
+                // are there, which is the first frame unless this is a fast start.
+                if (metrics.getFirstFrameMillis() < 0) {
+                    metrics.markFirstFrame();
+                    Platform.runLater(keyboard::build);
+                }
+                if (metrics.getPlayableMillis() < 0 && words.isDictionaryLoaded() && keyboard.isBuilt()) {
+                    metrics.markPlayable();
+                    reportStartup();
+                }
+            }
+        };
+
+        // We will need to track the play time of the user, so get the start time
+        Instant start = Instant.now();
+        timer.start();
+
+        // When the button is pressed, get end time, color the keyboard by mistakes,
+        // display words per minute and the typing stats in a new window, then quit
+        endButton.setOnAction(event -> {
+            timer.stop();
+            Instant end = Instant.now();
+            // Minutes as a fraction, so games shorter than a minute still get a WPM
+            double minutesPassed = Duration.between(start, end).toMillis() / 60_000.0;
+            int score = words.getEngine().getScore();
+            double wpm = minutesPassed > 0 ? score / minutesPassed : 0;
+            keyboard.showHeatmap(words.getStats().getTroubleMap());
+            // Only made now since most of the time it is never needed before the game ends
+            Alert endScreen = new Alert(Alert.AlertType.INFORMATION);
+            endScreen.setTitle("Words per Minute");
+            endScreen.setHeaderText("Good job!\nWords Typed: " + score);
+            endScreen.setContentText(String.format("You typed: %.1f words per minute%n%n%s",
+                    wpm, words.getStats().getSummary()));
+            endScreen.showAndWait();
+
+            writeMetrics();
+            closeRecorder();
+            System.exit(0);
+        });
+    }
+
+    /**
+     * Prints how long the game took to start, and quits if this run was only
+     * started to train the AppCDS archive
+     */
+    private void reportStartup() {
+        System.out.printf("Startup: first frame after %d ms, playable after %d ms (since JVM start)%n",
+                metrics.getFirstFrameMillis(), metrics.getPlayableMillis());
+        if (settings.getStartup() == Settings.Startup.TRAIN) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Called when the window is closed, writes the metrics file and the session log
+     */
+    @Override
+    public void stop() {
+        writeMetrics();
+        closeRecorder();
+    }
+
+    /**
+     * Finishes writing the session log, once
+     */
+    private void closeRecorder() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+            System.out.println("Session recorded to " + settings.getRecordFile());
+            if (recorder.getDroppedCount() > 0) {
+                System.err.println("Session log stops early, the disk fell behind and "
+                        + recorder.getDroppedCount() + " records were left out");
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write session: " + e.getMessage());
+        }
+        recorder = null;
+    }
+
+    /**
+     * Writes the frame time histograms to the file given with --metrics, once
+     */
+    private void writeMetrics() {
+        if (metricsWritten || settings == null || settings.getMetricsFile() == null) {
+            return;
+        }
+        metricsWritten = true;
+        try {
+            metrics.writeTo(Paths.get(settings.getMetricsFile()));
+        } catch (IOException e) {
+            System.err.println("Could not write metrics: " + e.getMessage());
+        }
+    }
+}
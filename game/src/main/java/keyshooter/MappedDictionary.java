@@ -0,0 +1,125 @@
+package keyshooter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Corey Walker
+ * Dictionary read from a compiled .dict file that is memory mapped with FileChannel.map,
+ * so loading does not read or decode any words up front.
+ * forEachChar walks a word's bytes straight out of the mapped file, so
+ * indexing every word never builds a String.
+ * The file is made by DictionaryCompiler and looks like this, all ints big endian:
+ *   int magic "KSD1"
+ *   int number of words
+ *   int flags, FLAG_ASCII is set if every word is plain ASCII
+ *   int[count + 1] offset of each word from the start of the data, the last one is the end
+ *   byte[] every word in UTF-8, uppercase, one after the other with no separators
+ */
+public class MappedDictionary implements Dictionary {
+    // "KSD1" in ASCII
+    static final int MAGIC = 0x4B534431;
+    // Set when every word is ASCII so it can be decoded one byte per char
+    static final int FLAG_ASCII = 1;
+    // Bytes taken by the magic, count and flags
+    static final int HEADER_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final boolean ascii;
+    // Position of the offset table and of the first word in the buffer
+    private final int offsetsStart;
+    private final int dataStart;
+
+    private MappedDictionary(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled dictionary");
+        }
+        count = buffer.getInt(4);
+        ascii = (buffer.getInt(8) & FLAG_ASCII) != 0;
+        offsetsStart = HEADER_BYTES;
+        dataStart = offsetsStart + (count + 1) * Integer.BYTES;
+        if (count < 0 || dataStart > buffer.limit()
+                || dataStart + buffer.getInt(offsetsStart + count * Integer.BYTES) > buffer.limit()) {
+            throw new IOException("Compiled dictionary is truncated");
+        }
+    }
+
+    /**
+     * Maps a compiled dictionary into memory. The file can be closed
+     * right away, the mapping stays valid until it is garbage collected.
+     * @param path location of the .dict file
+     * @return dictionary reading from the mapped file
+     * @throws IOException thrown when the file cannot be read or is not a compiled dictionary
+     */
+    public static MappedDictionary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Decodes the word at the index straight out of the mapped file
+     * @param index index between 0 and size()
+     * @return uppercase word at that index
+     */
+    @Override
+    public String get(int index) {
+        int start = start(index);
+        byte[] bytes = new byte[start(index + 1) - start];
+        buffer.get(dataStart + start, bytes);
+        return new String(bytes, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the word's chars one at a time straight out of the mapped file.
+     * ASCII words are one char per byte, other words are decoded from UTF-8 as they go,
+     * with a pair of surrogate chars for anything outside the Basic Multilingual Plane.
+     * @param index index between 0 and size()
+     * @param consumer gets each char
+     */
+    @Override
+    public void forEachChar(int index, IntConsumer consumer) {
+        int end = dataStart + start(index + 1);
+        int at = dataStart + start(index);
+        while (at < end) {
+            int b = buffer.get(at++) & 0xFF;
+            if (ascii || b < 0x80) {
+                consumer.accept(b);
+                continue;
+            }
+            // Number of continuation bytes after the lead byte, and the lead byte's bits
+            int extra = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : 1;
+            int codePoint = b & (0x3F >> extra);
+            for (int i = 0; i < extra && at < end; i++) {
+                codePoint = (codePoint << 6) | (buffer.get(at++) & 0x3F);
+            }
+            if (Character.isBmpCodePoint(codePoint)) {
+                consumer.accept(codePoint);
+            }
+            else {
+                consumer.accept(Character.highSurrogate(codePoint));
+                consumer.accept(Character.lowSurrogate(codePoint));
+            }
+        }
+    }
+
+    /**
+     * @param index index between 0 and size(), size() gives the end of the last word
+     * @return offset of the word from the start of the data
+     */
+    private int start(int index) {
+        return buffer.getInt(offsetsStart + index * Integer.BYTES);
+    }
+}
@@ -0,0 +1,105 @@
+package keyshooter;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Corey Walker
+ * On-screen overlay showing GameMetrics and the recent typing speed, hidden until toggled.
+ * The text is only rebuilt a few times a second so the overlay
+ * does not add much to the frames it is measuring.
+ */
+public class MetricsHud {
+    // Time between text updates in nanoseconds
+    private static final long REFRESH_INTERVAL = 250_000_000L;
+    private final GameMetrics metrics;
+    private final TypingStats stats;
+    // Cached word images, null when they are not used
+    private final WordSpriteCache sprites;
+    // Keys waiting for a frame, null when they are not shown
+    private final KeyEventQueue keyQueue;
+    private final Label label;
+    private long lastRefresh = 0;
+
+    /**
+     * @param metrics frame and key timings
+     * @param stats typing speed
+     * @param sprites cached word images to show the hit rate of, may be null
+     * @param keyQueue queue of keys waiting for a frame to show the counters of, may be null
+     */
+    public MetricsHud(GameMetrics metrics, TypingStats stats, WordSpriteCache sprites, KeyEventQueue keyQueue) {
+        this.metrics = metrics;
+        this.stats = stats;
+        this.sprites = sprites;
+        this.keyQueue = keyQueue;
+        label = new Label();
+        label.setFont(Font.font("Monospaced", 12));
+        label.setTextFill(Color.DARKGREEN);
+        label.setPadding(new Insets(4));
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+    }
+
+    /**
+     * getter for the label to place over the game
+     * @return label
+     */
+    public Label getLabel() {
+        return label;
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it if it is shown
+     */
+    public void toggle() {
+        label.setVisible(!label.isVisible());
+        lastRefresh = 0;
+    }
+
+    /**
+     * Called once per frame, rebuilds the text if the overlay is showing and it is time to
+     * @param now pulse time passed to AnimationTimer.handle
+     * @param liveWords number of words on the screen
+     */
+    public void refresh(long now, int liveWords) {
+        if (!label.isVisible() || now - lastRefresh < REFRESH_INTERVAL) {
+            return;
+        }
+        lastRefresh = now;
+        Histogram interval = metrics.getFrameInterval();
+        Histogram handle = metrics.getHandleDuration();
+        Histogram latency = metrics.getKeyLatency();
+        String text = String.format(
+                "frame   p50 %5.1f ms  p99 %5.1f ms  max %5.1f ms%n"
+                        + "handle  p50 %5.2f ms  p99 %5.2f ms%n"
+                        + "key     p50 %5.1f ms  p99 %5.1f ms%n"
+                        + "nodes %d  words %d  alloc %.1f MB/s%n"
+                        + "wpm %.1f  cpm %.0f  (last 10 s)",
+                millis(interval.getPercentile(50)), millis(interval.getPercentile(99)), millis(interval.getMax()),
+                millis(handle.getPercentile(50)), millis(handle.getPercentile(99)),
+                millis(latency.getPercentile(50)), millis(latency.getPercentile(99)),
+                metrics.getLastNodeCount(), liveWords, metrics.getAllocationRate() / (1024 * 1024),
+                stats.getWordsPerMinute(System.nanoTime(), 10), stats.getCharactersPerMinute(System.nanoTime(), 10));
+        if (sprites != null) {
+            long lookups = sprites.getHitCount() + sprites.getMissCount();
+            text += String.format("%nsprites %d  hit %.1f%%  evicted %d  %.1f/%.1f MB",
+                    sprites.getSize(), lookups == 0 ? 0 : 100.0 * sprites.getHitCount() / lookups,
+                    sprites.getEvictionCount(), sprites.getByteCount() / (1024.0 * 1024),
+                    sprites.getByteBudget() / (1024.0 * 1024));
+        }
+        if (keyQueue != null) {
+            text += String.format("%n%s", keyQueue.getSummary());
+        }
+        label.setText(text);
+    }
+
+    /**
+     * @param nanos time in nanoseconds
+     * @return time in milliseconds
+     */
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
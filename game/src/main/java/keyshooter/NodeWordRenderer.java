@@ -0,0 +1,67 @@
+package keyshooter;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * Corey Walker
+ * Renderer that gives every floating word its own WordBox in the scene graph.
+ */
+public class NodeWordRenderer implements WordRenderer {
+    // Pane the WordBoxes are added to
+    private final Pane wordsPane;
+    // JavaFX floating word for each lifecycle slot, null when the slot is free
+    private final WordBox[] wordBoxes;
+    // Where WordBoxes come from and go back to
+    private final WordBoxPool pool;
+
+    public NodeWordRenderer(Pane wordsPane, int capacity, WordBoxPool pool) {
+        this.wordsPane = wordsPane;
+        wordBoxes = new WordBox[capacity];
+        this.pool = pool;
+    }
+
+    /**
+     * Takes a WordBox for the word from the pool and adds it to the pane
+     * @param word word that was spawned
+     */
+    @Override
+    public void add(ActiveWord word) {
+        WordBox wordBox = pool.acquire(word.getWord(), Color.WHITE);
+        wordBoxes[word.getSlot()] = wordBox;
+        wordsPane.getChildren().add(wordBox.getWordBox());
+    }
+
+    /**
+     * Removes the word's WordBox from the pane and gives it back to the pool
+     * @param word word that is being released
+     */
+    @Override
+    public void remove(ActiveWord word) {
+        int slot = word.getSlot();
+        wordsPane.getChildren().remove(wordBoxes[slot].getWordBox());
+        pool.release(wordBoxes[slot]);
+        wordBoxes[slot] = null;
+    }
+
+    /**
+     * Writes each moving word's position to its WordBox
+     * @param motion positions of every moving word
+     */
+    @Override
+    public void render(WordMotion motion) {
+        for (int i = 0; i < motion.getMovingCount(); i++) {
+            int slot = motion.getMoving(i);
+            wordBoxes[slot].setPosition(motion.getX(slot), motion.getY(slot));
+        }
+    }
+
+    /**
+     * getter for the WordBox showing a slot, used when a Timeline moves the word
+     * @param slot lifecycle slot of the word
+     * @return the WordBox or null if the slot is free
+     */
+    public WordBox getWordBox(int slot) {
+        return wordBoxes[slot];
+    }
+}
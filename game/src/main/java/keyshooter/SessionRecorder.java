@@ -0,0 +1,305 @@
+package keyshooter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Corey Walker
+ * Appends everything needed to replay a session to a compact binary log.
+ * Events are written into a ByteBuffer on the JavaFX thread; full buffers are handed
+ * to a background thread that writes them to a FileChannel, and empty buffers come back
+ * to be reused. There is a fixed pool of buffers, so recording never blocks on the disk
+ * and never allocates after it starts. If the writer falls so far behind that every
+ * buffer is waiting to be written, recording stops there and the records after it are
+ * only counted: a log with records missing from the middle would replay differently,
+ * while one that stops early replays the same up to where it stops.
+ *
+ * The file starts with a header:
+ *   int magic "KSR1", long seed, double width, double height, int capacity, long start time
+ * followed by records, each a type byte, the time since the previous record
+ * as a zigzag varint of nanoseconds, and then:
+ *   TICK      nothing, the engine was ticked at this time
+ *   KEY       one byte, the uppercase letter or '\b' for backspace
+ *   SPAWN     varint length and UTF-8 bytes of the word, then start x, start y,
+ *             end x, end y and seconds as doubles
+ *   INTERVAL  varint spawn interval in nanoseconds, the slider was moved
+ *   TOLERANCE varint typo tolerance of the engine, written at the start when it is not 0
+ * Records are in the order they were applied to the engine. A SPAWN made by a tick
+ * comes before that TICK, which is the order replay needs.
+ */
+public class SessionRecorder {
+    // "KSR1" in ASCII
+    static final int MAGIC = 0x4B535231;
+    static final byte TICK = 1;
+    static final byte KEY = 2;
+    static final byte SPAWN = 3;
+    static final byte INTERVAL = 4;
+    static final byte TOLERANCE = 5;
+    static final int HEADER_BYTES = 4 + 8 + 8 + 8 + 4 + 8;
+    // Size of each buffer and how full it gets before it is written
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_AT = BUFFER_SIZE - 1024;
+    private static final int BUFFERS = 4;
+
+    private final FileChannel channel;
+    // Buffers waiting to be written, and written buffers ready to be filled again.
+    // Only BUFFERS buffers are ever made, so full always has room for them and endOfLog.
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFERS + 1);
+    private final BlockingQueue<ByteBuffer> empty = new ArrayBlockingQueue<>(BUFFERS);
+    private final Thread writer;
+    // Written to the queue to tell the writer to stop
+    private final ByteBuffer endOfLog = ByteBuffer.allocate(0);
+    // Buffer being filled, null once recording has stopped because none were free
+    private ByteBuffer buffer;
+    // Records not written because recording stopped
+    private long dropped = 0;
+    private long lastTime;
+    private boolean closed = false;
+    private volatile IOException writeError;
+
+    /**
+     * Creates the log file, writes the header and starts the writer thread
+     * @param path file to write, its parent directories are created
+     * @param engine engine being recorded
+     * @param startTime time to count the first record from, in nanoseconds
+     * @throws IOException thrown when the file cannot be created
+     */
+    public SessionRecorder(Path path, GameEngine engine, long startTime) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        for (int i = 0; i < BUFFERS - 1; i++) {
+            empty.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.putLong(engine.getSeed());
+        buffer.putDouble(engine.getWidth());
+        buffer.putDouble(engine.getHeight());
+        buffer.putInt(engine.getLifecycle().getCapacity());
+        buffer.putLong(startTime);
+        lastTime = startTime;
+
+        writer = new Thread(this::writeLoop, "session-recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records that the engine was ticked
+     * @param time time passed to GameEngine.tick
+     */
+    public void tick(long time) {
+        if (!startRecord(TICK, time)) {
+            return;
+        }
+        endRecord();
+    }
+
+    /**
+     * Records a typed key
+     * @param time time the key was pressed
+     * @param key uppercase letter, or '\b' for backspace
+     */
+    public void key(long time, char key) {
+        if (!startRecord(KEY, time)) {
+            return;
+        }
+        buffer.put((byte) key);
+        endRecord();
+    }
+
+    /**
+     * Records a spawned word and its path
+     * @param time time of the tick that spawned it
+     * @param word uppercase word
+     * @param startX starting x position
+     * @param startY starting y position
+     * @param endX x position at the end of the path
+     * @param endY y position at the end of the path
+     * @param seconds time it takes to get to the end
+     */
+    public void spawn(long time, String word, double startX, double startY,
+                      double endX, double endY, double seconds) {
+        if (!startRecord(SPAWN, time)) {
+            return;
+        }
+        // Words are almost always ASCII, so skip the encoder unless they are not
+        if (isAscii(word)) {
+            putVarint(word.length());
+            for (int i = 0; i < word.length(); i++) {
+                buffer.put((byte) word.charAt(i));
+            }
+        }
+        else {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.putDouble(startX);
+        buffer.putDouble(startY);
+        buffer.putDouble(endX);
+        buffer.putDouble(endY);
+        buffer.putDouble(seconds);
+        endRecord();
+    }
+
+    /**
+     * Records a change to the spawn interval
+     * @param time time of the change
+     * @param nanos new spawn interval in nanoseconds
+     */
+    public void spawnInterval(long time, long nanos) {
+        if (!startRecord(INTERVAL, time)) {
+            return;
+        }
+        putVarint(nanos);
+        endRecord();
+    }
+
+    /**
+     * Records a change to the typo tolerance, which changes which words are hit
+     * @param time time of the change
+     * @param tolerance new largest edit distance that hits a word
+     */
+    public void tolerance(long time, int tolerance) {
+        if (!startRecord(TOLERANCE, time)) {
+            return;
+        }
+        putVarint(tolerance);
+        endRecord();
+    }
+
+    /**
+     * Writes everything recorded so far and closes the file. Does nothing if already closed.
+     * @throws IOException thrown when something could not be written
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (buffer != null) {
+            handOff();
+        }
+        // Never fails, see full
+        full.offer(endOfLog);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    /**
+     * @return number of records left out of the log because the writer fell behind,
+     *         the log stops at the first one
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Writes the type and time of a record, unless recording has stopped
+     * @param type type of record
+     * @param time time of the record in nanoseconds
+     * @return false if the record was dropped and nothing more should be written
+     */
+    private boolean startRecord(byte type, long time) {
+        if (closed) {
+            return false;
+        }
+        if (buffer == null) {
+            dropped++;
+            return false;
+        }
+        buffer.put(type);
+        long delta = time - lastTime;
+        putVarint((delta << 1) ^ (delta >> 63));
+        lastTime = time;
+        return true;
+    }
+
+    /**
+     * Hands the buffer to the writer once it is nearly full
+     */
+    private void endRecord() {
+        if (buffer.position() >= FLUSH_AT) {
+            handOff();
+        }
+    }
+
+    /**
+     * Gives the current buffer to the writer and takes an empty one.
+     * If the writer is so far behind that there is no empty buffer, recording stops.
+     */
+    private void handOff() {
+        buffer.flip();
+        // Never fails, see full
+        full.offer(buffer);
+        buffer = empty.poll();
+    }
+
+    /**
+     * Writes an unsigned variable length number, 7 bits per byte, low bits first
+     * @param value number to write, treated as unsigned
+     */
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * @param word word to check
+     * @return true if every char is ASCII
+     */
+    private static boolean isAscii(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs on the writer thread, writing buffers until told to stop
+     */
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer next = full.take();
+                if (next == endOfLog) {
+                    return;
+                }
+                try {
+                    while (next.hasRemaining()) {
+                        channel.write(next);
+                    }
+                } catch (IOException e) {
+                    writeError = e;
+                }
+                next.clear();
+                empty.offer(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package keyshooter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Corey Walker
+ * Reads a log written by SessionRecorder and plays it back, either into the
+ * game on the screen at a set speed or into a headless GameEngine as fast as
+ * the CPU allows. Spawns come from the log instead of the engine's random
+ * generator, so a session replays the same way even after the sampler changes.
+ * The engine must have auto spawning turned off and the same capacity as the recording.
+ * Usage: SessionReplay session.ksr [repeats]
+ */
+public class SessionReplay {
+    /**
+     * Gets every record as it is replayed
+     */
+    public interface Handler {
+        /**
+         * @param time time the engine was ticked
+         */
+        void onTick(long time);
+
+        /**
+         * @param time time the key was pressed
+         * @param key uppercase letter, or '\b' for backspace
+         */
+        void onKey(long time, char key);
+
+        /**
+         * @param time time of the tick that spawned the word
+         * @param word uppercase word
+         * @param startX starting x position
+         * @param startY starting y position
+         * @param endX x position at the end of the path
+         * @param endY y position at the end of the path
+         * @param seconds time it takes to get to the end
+         */
+        void onSpawn(long time, String word, double startX, double startY,
+                     double endX, double endY, double seconds);
+
+        /**
+         * @param time time the slider was moved
+         * @param nanos new spawn interval in nanoseconds
+         */
+        default void onSpawnInterval(long time, long nanos) { }
+
+        /**
+         * @param time time the tolerance was set
+         * @param tolerance largest edit distance that hits a word
+         */
+        default void onTolerance(long time, int tolerance) { }
+    }
+
+    private final ByteBuffer buffer;
+    // Values from the header
+    private final long seed;
+    private final double width;
+    private final double height;
+    private final int capacity;
+    private final long startTime;
+    // Time of the last record read
+    private long time;
+
+    /**
+     * @param buffer whole log, positioned at the start
+     * @throws IOException thrown when it is not a session log
+     */
+    private SessionReplay(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < SessionRecorder.HEADER_BYTES || buffer.getInt() != SessionRecorder.MAGIC) {
+            throw new IOException("Not a session log");
+        }
+        seed = buffer.getLong();
+        width = buffer.getDouble();
+        height = buffer.getDouble();
+        capacity = buffer.getInt();
+        startTime = buffer.getLong();
+        time = startTime;
+    }
+
+    /**
+     * Maps a session log into memory
+     * @param path log written by SessionRecorder
+     * @return replay positioned at the first record
+     * @throws IOException thrown when the file cannot be read or is not a session log
+     */
+    public static SessionReplay open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path)) {
+            return new SessionReplay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Makes a handler that plays records straight into an engine
+     * @param engine engine with auto spawning turned off
+     * @return handler
+     */
+    public static Handler into(GameEngine engine) {
+        return new Handler() {
+            @Override
+            public void onTick(long time) {
+                engine.tick(time);
+            }
+
+            @Override
+            public void onKey(long time, char key) {
+                if (key == '\b') {
+                    engine.backspace();
+                }
+                else {
+                    engine.typeLetter(key);
+                }
+            }
+
+            @Override
+            public void onSpawn(long time, String word, double startX, double startY,
+                                double endX, double endY, double seconds) {
+                engine.spawn(word, startX, startY, endX, endY, seconds);
+            }
+
+            @Override
+            public void onSpawnInterval(long time, long nanos) {
+                engine.setSpawnInterval(nanos);
+            }
+
+            @Override
+            public void onTolerance(long time, int tolerance) {
+                engine.setTolerance(tolerance);
+            }
+        };
+    }
+
+    /**
+     * Plays every record up to a time. A record cut off by the end of the file,
+     * which happens when the game was killed while recording, ends the replay.
+     * @param until last time to play, Long.MAX_VALUE for the whole log
+     * @param handler gets each record
+     * @return number of records played
+     */
+    public int replayUntil(long until, Handler handler) {
+        int played = 0;
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            try {
+                byte type = buffer.get();
+                long zigzag = getVarint();
+                long next = time + ((zigzag >>> 1) ^ -(zigzag & 1));
+                if (next > until) {
+                    buffer.position(start);
+                    return played;
+                }
+                time = next;
+                switch (type) {
+                    case SessionRecorder.TICK:
+                        handler.onTick(time);
+                        break;
+                    case SessionRecorder.KEY:
+                        handler.onKey(time, (char) buffer.get());
+                        break;
+                    case SessionRecorder.SPAWN:
+                        byte[] bytes = new byte[(int) getVarint()];
+                        buffer.get(bytes);
+                        String word = new String(bytes, StandardCharsets.UTF_8);
+                        handler.onSpawn(time, word, buffer.getDouble(), buffer.getDouble(),
+                                buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+                        break;
+                    case SessionRecorder.INTERVAL:
+                        handler.onSpawnInterval(time, getVarint());
+                        break;
+                    case SessionRecorder.TOLERANCE:
+                        handler.onTolerance(time, (int) getVarint());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown record type " + type + " at byte " + start);
+                }
+            } catch (BufferUnderflowException e) {
+                buffer.position(buffer.limit());
+                return played;
+            }
+            played++;
+        }
+        return played;
+    }
+
+    /**
+     * Reads an unsigned variable length number written by SessionRecorder
+     * @return the number
+     */
+    private long getVarint() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * @return true if there are records left to play
+     */
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * @return seed of the recorded engine
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return width of the recorded engine
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return height of the recorded engine
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @return capacity of the recorded engine
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return time the recording started in nanoseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Replays a log into a headless engine as fast as possible and prints
+     * how long it took and how the session ended
+     * @param args path of the log, then optionally how many times to replay it
+     * @throws IOException thrown when the log cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: SessionReplay <session.ksr> [<repeats>]");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        int repeats = args.length == 2 ? Integer.parseInt(args[1]) : 1;
+        Dictionary noWords = Dictionary.of(List.of());
+        for (int i = 0; i < repeats; i++) {
+            SessionReplay replay = open(path);
+            GameEngine engine = new GameEngine(noWords, replay.getWidth(), replay.getHeight(),
+                    replay.getSeed(), replay.getCapacity());
+            engine.setAutoSpawn(false);
+            long start = System.nanoTime();
+            int records = replay.replayUntil(Long.MAX_VALUE, into(engine));
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            WordLifecycle lifecycle = engine.getLifecycle();
+            System.out.printf("%d records of %.1f s played in %.3f ms (%.0f records/s): "
+                            + "score %d, spawned %d, hit %d, expired %d%n",
+                    records, (replay.time - replay.getStartTime()) / 1_000_000_000.0, seconds * 1000,
+                    records / seconds, engine.getScore(), lifecycle.getSpawnedCount(),
+                    lifecycle.getHitCount(), lifecycle.getExpiredCount());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package keyshooter;
+
+import java.util.Map;
+
+/**
+ * Corey Walker
+ * Options for the game that can be changed from the command line.
+ * Options are given as named parameters, for example --movement=timer
+ */
+public class Settings {
+    /**
+     * How the floating words are moved across the screen
+     */
+    public enum Movement {
+        // Every word gets its own JavaFX Timeline
+        TIMELINE,
+        // The AnimationTimer moves every word in one pass each frame
+        TIMER
+    }
+
+    /**
+     * How much is set up before the window is shown
+     */
+    public enum Startup {
+        // Everything is loaded and built before the first frame
+        NORMAL,
+        // The window shows at once, the dictionary loads in the background and the keyboard is built after the first frame
+        FAST,
+        // Starts like FAST and quits once the game is playable, used to make the AppCDS archive
+        TRAIN
+    }
+
+    /**
+     * How the floating words are drawn
+     */
+    public enum Renderer {
+        // Every word is a WordBox in the scene graph
+        NODE,
+        // Every word is drawn onto one Canvas, needs Movement.TIMER
+        CANVAS
+    }
+
+    private final Movement movement;
+    private final Renderer renderer;
+    // Seed for the game engine, the same seed spawns the same words
+    private final long seed;
+    // Difficulty between 0 and 1, negative to pick every word equally
+    private final double difficulty;
+    // Layout of the keyboard shown at the bottom
+    private final KeyboardLayout layout;
+    // File to write frame time metrics to on exit, null to not write them
+    private final String metricsFile;
+    // File the session is recorded to, null to not record
+    private final String recordFile;
+    // Session log to play back instead of playing, null to play normally
+    private final String replayFile;
+    // How fast the replay runs, 1 is real time and infinity plays the whole log at once
+    private final double replaySpeed;
+    // Largest number of typos a typed word can have and still hit, 0 for exact matches only
+    private final int tolerance;
+    // Most bytes of cached word images, 0 to lay out the text of every word instead
+    private final long spriteBudget;
+    private final Startup startup;
+
+    public Settings(Movement movement, Renderer renderer, long seed, double difficulty,
+                    KeyboardLayout layout, String metricsFile,
+                    String recordFile, String replayFile, double replaySpeed, int tolerance,
+                    long spriteBudget, Startup startup) {
+        this.movement = movement;
+        this.renderer = renderer;
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.layout = layout;
+        this.metricsFile = metricsFile;
+        this.recordFile = recordFile;
+        this.replayFile = replayFile;
+        this.replaySpeed = replaySpeed;
+        this.tolerance = tolerance;
+        this.spriteBudget = spriteBudget;
+        this.startup = startup;
+    }
+
+    /**
+     * Builds the settings from the named command line parameters.
+     * Anything that is missing keeps its default.
+     * The canvas renderer always uses the timer movement since there are no nodes for a Timeline to move.
+     * So does a replay at max speed, since the words come and go before a Timeline could move them.
+     * Sessions are recorded into sessions/ unless --record=off is given or a session is being replayed.
+     * --fuzzy=k lets words with up to k typos hit, --fuzzy=on means one typo.
+     * --sprites=16m sets the byte budget of the word image cache, --sprites=off turns it off.
+     * @param named named parameters from Application.getParameters()
+     * @return settings for this run
+     */
+    public static Settings fromParameters(Map<String, String> named) {
+        Renderer renderer = parseEnum(Renderer.class, named.get("renderer"), Renderer.NODE);
+        Movement movement = parseEnum(Movement.class, named.get("movement"), Movement.TIMELINE);
+        String seedValue = named.get("seed");
+        long seed = seedValue == null ? System.nanoTime() : Long.parseLong(seedValue.trim());
+        String difficultyValue = named.get("difficulty");
+        double difficulty = difficultyValue == null ? -1 : Double.parseDouble(difficultyValue.trim());
+        KeyboardLayout layout = parseEnum(KeyboardLayout.class, named.get("layout"), KeyboardLayout.QWERTY);
+        String replayFile = named.get("replay");
+        String recordFile = named.get("record");
+        if (replayFile != null || "off".equalsIgnoreCase(recordFile)) {
+            recordFile = null;
+        }
+        else if (recordFile == null) {
+            recordFile = "sessions/session-" + System.currentTimeMillis() + ".ksr";
+        }
+        // Speeds look like 1x, 2.5x or max
+        String speedValue = named.getOrDefault("replay-speed", "1").trim().toLowerCase();
+        double replaySpeed = speedValue.equals("max") ? Double.POSITIVE_INFINITY
+                : Double.parseDouble(speedValue.endsWith("x") ? speedValue.substring(0, speedValue.length() - 1) : speedValue);
+        if (renderer == Renderer.CANVAS || (replayFile != null && Double.isInfinite(replaySpeed))) {
+            movement = Movement.TIMER;
+        }
+        String fuzzyValue = named.getOrDefault("fuzzy", "0").trim().toLowerCase();
+        int tolerance = fuzzyValue.equals("on") ? 1 : fuzzyValue.equals("off") ? 0 : Integer.parseInt(fuzzyValue);
+        // Budgets look like 16m, 512k or a number of bytes
+        String spritesValue = named.getOrDefault("sprites", "16m").trim().toLowerCase();
+        long spriteBudget;
+        if (spritesValue.equals("off")) {
+            spriteBudget = 0;
+        }
+        else if (spritesValue.endsWith("m")) {
+            spriteBudget = Long.parseLong(spritesValue.substring(0, spritesValue.length() - 1)) * 1024 * 1024;
+        }
+        else if (spritesValue.endsWith("k")) {
+            spriteBudget = Long.parseLong(spritesValue.substring(0, spritesValue.length() - 1)) * 1024;
+        }
+        else {
+            spriteBudget = Long.parseLong(spritesValue);
+        }
+        return new Settings(movement, renderer, seed, difficulty, layout, named.get("metrics"),
+                recordFile, replayFile, replaySpeed, tolerance, spriteBudget,
+                parseEnum(Startup.class, named.get("start"), Startup.NORMAL));
+    }
+
+    /**
+     * Looks up an enum constant ignoring case
+     * @param type enum class
+     * @param value value from the command line, may be null
+     * @param fallback value used when the parameter is missing
+     * @return matching constant or the fallback
+     * @throws IllegalArgumentException thrown when the value is not one of the constants
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        return Enum.valueOf(type, value.trim().toUpperCase());
+    }
+
+    /**
+     * getter for how words are moved
+     * @return movement
+     */
+    public Movement getMovement() {
+        return movement;
+    }
+
+    /**
+     * getter for how words are drawn
+     * @return renderer
+     */
+    public Renderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * getter for the engine seed
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * getter for the word difficulty
+     * @return difficulty between 0 and 1, or negative if every word is equally likely
+     */
+    public double getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * getter for the keyboard layout
+     * @return layout
+     */
+    public KeyboardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * getter for the metrics file
+     * @return path ending in .json or .csv, or null if metrics are not written
+     */
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * getter for the file the session is recorded to
+     * @return path of the session log, or null if the session is not recorded
+     */
+    public String getRecordFile() {
+        return recordFile;
+    }
+
+    /**
+     * getter for the session log to replay
+     * @return path of the session log, or null if the game is played normally
+     */
+    public String getReplayFile() {
+        return replayFile;
+    }
+
+    /**
+     * getter for the replay speed
+     * @return 1 for real time, higher to replay faster, infinity to play the whole log at once
+     */
+    public double getReplaySpeed() {
+        return replaySpeed;
+    }
+
+    /**
+     * getter for the typo tolerance
+     * @return largest edit distance between what was typed and a word that still hits it, 0 for exact matches
+     */
+    public int getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * getter for the byte budget of the word image cache
+     * @return most bytes of cached word images, 0 if words are not cached as images
+     */
+    public long getSpriteBudget() {
+        return spriteBudget;
+    }
+
+    /**
+     * getter for how the game starts up
+     * @return startup
+     */
+    public Startup getStartup() {
+        return startup;
+    }
+}
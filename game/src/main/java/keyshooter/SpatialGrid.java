@@ -0,0 +1,159 @@
+package keyshooter;
+
+import java.util.Arrays;
+
+/**
+ * Corey Walker
+ * Uniform grid over the area the words move in, used to find empty space.
+ * Each word is filed under the cell holding its top left corner, in a doubly
+ * linked list per cell made of int arrays indexed by lifecycle slot, so adding,
+ * removing and moving a word are O(1) and nothing is allocated.
+ * Counting the words in a rectangle or listing a word's neighbours only looks at
+ * the few cells it covers, instead of checking every pair of words.
+ * Positions outside the area are filed under the nearest edge cell.
+ */
+public class SpatialGrid {
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int columns;
+    private final int rows;
+    // First slot in each cell and number of slots in it, -1 for an empty cell
+    private final int[] head;
+    private final int[] count;
+    // Neighbours of each slot in its cell's list, -1 at the ends
+    private final int[] next;
+    private final int[] previous;
+    // Cell each slot is in, -1 if it is not in the grid
+    private final int[] cellOf;
+
+    /**
+     * @param width width of the area
+     * @param height height of the area
+     * @param cellWidth width of one cell, about the width of a word
+     * @param cellHeight height of one cell, about the height of a word
+     * @param capacity number of lifecycle slots
+     */
+    public SpatialGrid(double width, double height, double cellWidth, double cellHeight, int capacity) {
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        columns = Math.max(1, (int) Math.ceil(width / cellWidth));
+        rows = Math.max(1, (int) Math.ceil(height / cellHeight));
+        head = new int[columns * rows];
+        count = new int[columns * rows];
+        next = new int[capacity];
+        previous = new int[capacity];
+        cellOf = new int[capacity];
+        Arrays.fill(head, -1);
+        Arrays.fill(cellOf, -1);
+    }
+
+    /**
+     * Adds a slot at a position, or moves it there if it is already in the grid
+     * @param slot lifecycle slot of the word
+     * @param x x position of the word
+     * @param y y position of the word
+     */
+    public void put(int slot, double x, double y) {
+        int cell = cell(column(x), row(y));
+        if (cellOf[slot] == cell) {
+            return;
+        }
+        remove(slot);
+        cellOf[slot] = cell;
+        previous[slot] = -1;
+        next[slot] = head[cell];
+        if (head[cell] != -1) {
+            previous[head[cell]] = slot;
+        }
+        head[cell] = slot;
+        count[cell]++;
+    }
+
+    /**
+     * Takes a slot out of the grid, does nothing if it is not in it
+     * @param slot lifecycle slot of the word
+     */
+    public void remove(int slot) {
+        int cell = cellOf[slot];
+        if (cell == -1) {
+            return;
+        }
+        if (previous[slot] != -1) {
+            next[previous[slot]] = next[slot];
+        }
+        else {
+            head[cell] = next[slot];
+        }
+        if (next[slot] != -1) {
+            previous[next[slot]] = previous[slot];
+        }
+        cellOf[slot] = -1;
+        count[cell]--;
+    }
+
+    /**
+     * Counts the words in every cell the rectangle touches
+     * @param minX left edge
+     * @param minY top edge
+     * @param maxX right edge
+     * @param maxY bottom edge
+     * @return number of words in those cells
+     */
+    public int countIn(double minX, double minY, double maxX, double maxY) {
+        int total = 0;
+        int lastColumn = column(maxX);
+        int lastRow = row(maxY);
+        for (int r = row(minY); r <= lastRow; r++) {
+            for (int c = column(minX); c <= lastColumn; c++) {
+                total += count[cell(c, r)];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Lists the words in the cell holding a position and the eight cells around it
+     * @param x x position
+     * @param y y position
+     * @param out array to write slots into, words that do not fit are left out
+     * @return number of slots written
+     */
+    public int neighbours(double x, double y, int[] out) {
+        int found = 0;
+        int column = column(x);
+        int row = row(y);
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+                for (int slot = head[cell(c, r)]; slot != -1 && found < out.length; slot = next[slot]) {
+                    out[found++] = slot;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param x x position
+     * @return column holding it, clamped to the grid
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellWidth)));
+    }
+
+    /**
+     * @param y y position
+     * @return row holding it, clamped to the grid
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellHeight)));
+    }
+
+    /**
+     * @param column column of the cell
+     * @param row row of the cell
+     * @return index of the cell
+     */
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+}
@@ -0,0 +1,29 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Everything about an upcoming spawn that can be worked out ahead of time:
+ * the word, its measured width, the lane to start looking from and a few
+ * candidate end points. Only the choice between lanes and end points waits
+ * until the spawn, since it depends on where the other words are then.
+ * Plans are made once and filled in again for every spawn.
+ */
+public class SpawnPlan {
+    // Uppercase word to spawn, null when the dictionary has no words
+    String word;
+    // Width of the word on the screen, -1 if it was not measured
+    double textWidth;
+    // Lane to start looking for a free one from
+    int firstLane;
+    // Candidate end points, before being moved relative to the start lane
+    final int[] endingX;
+    final int[] endingY;
+
+    /**
+     * @param candidates number of end points to pick from
+     */
+    SpawnPlan(int candidates) {
+        endingX = new int[candidates];
+        endingY = new int[candidates];
+    }
+}
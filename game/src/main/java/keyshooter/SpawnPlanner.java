@@ -0,0 +1,193 @@
+package keyshooter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Corey Walker
+ * Prepares upcoming spawns on a background thread so the thread running the
+ * game only has to take a finished SpawnPlan and place it.
+ * A fixed set of plans goes round two SpscQueues: the planner fills free plans
+ * (drawing the word, the lane and end points, and measuring the text) and puts
+ * them on the ready queue; the game takes them off, spawns, and hands them back
+ * on the free queue. When every plan is ready the planner parks until one comes back.
+ * The planner has its own random generator split from the engine's, so the
+ * sequence of plans is the same for the same seed no matter how the threads run.
+ * Every plan is filled before the thread starts, so the first spawns never wait.
+ * After that each spawn takes the next plan in the sequence, parking for a short
+ * while if the planner has fallen behind, so a seed spawns the same words however
+ * far ahead it has got.
+ * The sampler must not be changed while the planner is running.
+ */
+public class SpawnPlanner implements Runnable {
+    // Longest the game thread waits for a plan before giving up on this spawn
+    static final long MAX_WAIT_NANOS = 20_000_000L;
+
+    private final WordSampler sampler;
+    private final Dictionary words;
+    private final SplittableRandom random;
+    // Measures how wide a word is on the screen, null to not measure
+    private final ToDoubleFunction<String> measurer;
+    // Number of lanes and the range of the end points, the same as GameEngine.spawnWord
+    private final int lanes;
+    private final int endXRange;
+    private final int endYRange;
+    private final SpscQueue<SpawnPlan> ready;
+    private final SpscQueue<SpawnPlan> free;
+    private final Thread thread;
+    // Game thread parked in take, null when nothing is waiting
+    private volatile Thread waiter;
+    private volatile boolean running = true;
+
+    /**
+     * Makes and fills the plans, then starts the background thread
+     * @param sampler picks the words
+     * @param random generator to draw from, only used by the planner from now on
+     * @param lanes number of spawn lanes
+     * @param endXRange end x points are drawn below this
+     * @param endYRange end y points are drawn below this
+     * @param candidates end points drawn for each spawn
+     * @param depth number of plans kept ready
+     * @param measurer measures how wide a word is on the screen, called on the calling thread
+     *                 for the first plans and on the planner thread after that, may be null
+     */
+    SpawnPlanner(WordSampler sampler, SplittableRandom random, int lanes, int endXRange, int endYRange,
+                 int candidates, int depth, ToDoubleFunction<String> measurer) {
+        this.sampler = sampler;
+        words = sampler.getDictionary();
+        this.random = random;
+        this.lanes = lanes;
+        this.endXRange = endXRange;
+        this.endYRange = endYRange;
+        this.measurer = measurer;
+        ready = new SpscQueue<>(depth);
+        free = new SpscQueue<>(depth);
+        for (int i = 0; i < depth; i++) {
+            SpawnPlan plan = new SpawnPlan(candidates);
+            prepare(plan);
+            ready.offer(plan);
+        }
+        thread = new Thread(this, "spawn-planner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Fills free plans until stopped
+     */
+    @Override
+    public void run() {
+        while (running) {
+            SpawnPlan plan = free.poll();
+            if (plan == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            prepare(plan);
+            ready.offer(plan);
+            Thread waiting = waiter;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+    }
+
+    /**
+     * Fills the next plan in the sequence and measures its word
+     * @param plan plan to fill
+     */
+    private void prepare(SpawnPlan plan) {
+        fill(plan, sampler, words, random, lanes, endXRange, endYRange);
+        if (measurer != null && plan.word != null) {
+            try {
+                plan.textWidth = measurer.applyAsDouble(plan.word);
+            } catch (RuntimeException e) {
+                plan.textWidth = -1;
+            }
+        }
+    }
+
+    /**
+     * Draws the word, the first lane and the end points of a plan
+     * @param plan plan to fill, its text width is reset to unknown,
+     *             its word is null if the dictionary has no words
+     * @param sampler picks the word
+     * @param words dictionary the sampler picks from
+     * @param random generator to draw from
+     * @param lanes number of spawn lanes
+     * @param endXRange end x points are drawn below this
+     * @param endYRange end y points are drawn below this
+     */
+    static void fill(SpawnPlan plan, WordSampler sampler, Dictionary words, SplittableRandom random,
+                     int lanes, int endXRange, int endYRange) {
+        int index = sampler.sample(random);
+        plan.word = index < 0 ? null : words.get(index);
+        plan.textWidth = -1;
+        plan.firstLane = random.nextInt(lanes);
+        for (int i = 0; i < plan.endingX.length; i++) {
+            plan.endingX[i] = random.nextInt(endXRange);
+            plan.endingY[i] = random.nextInt(endYRange);
+        }
+    }
+
+    /**
+     * Takes the next finished plan, parking until the planner hands it over if it
+     * is not ready yet. Filling one plan takes microseconds, so this only waits when
+     * words spawn faster than the planner keeps up with, and never longer than
+     * MAX_WAIT_NANOS. A plan that is late stays next in the sequence for the
+     * following spawn. Called by the game thread.
+     * @return the plan, or null if it was not ready in time or the planner thread has stopped
+     */
+    SpawnPlan take() {
+        SpawnPlan plan = ready.poll();
+        if (plan != null) {
+            return plan;
+        }
+        long deadline = System.nanoTime() + MAX_WAIT_NANOS;
+        waiter = Thread.currentThread();
+        try {
+            while ((plan = ready.poll()) == null) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0 || !thread.isAlive()) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, left);
+            }
+        } finally {
+            waiter = null;
+        }
+        return plan;
+    }
+
+    /**
+     * @return true while the background thread is filling plans
+     */
+    boolean isAlive() {
+        return thread.isAlive();
+    }
+
+    /**
+     * Hands a used plan back to be filled again, called by the game thread
+     * @param plan plan taken with take
+     */
+    void giveBack(SpawnPlan plan) {
+        free.offer(plan);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * @return number of plans ready to be taken
+     */
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    /**
+     * Stops the background thread
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+}
@@ -0,0 +1,69 @@
+package keyshooter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Corey Walker
+ * Bounded queue for exactly one producer thread and one consumer thread.
+ * It is a ring buffer with a head index only the consumer writes and a tail index
+ * only the producer writes, so there are no locks and no compare-and-set loops:
+ * each side publishes its index with an ordered write after touching the array.
+ * Nothing is allocated after construction.
+ * @param <T> type of the items
+ */
+public class SpscQueue<T> {
+    private final Object[] items;
+    private final int mask;
+    // Next index to read, written by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next index to write, written by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity most items held, rounded up to a power of two
+     */
+    public SpscQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        items = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an item, only called from the producer thread
+     * @param item item to add, not null
+     * @return false if the queue is full
+     */
+    public boolean offer(T item) {
+        long t = tail.get();
+        if (t - head.get() == items.length) {
+            return false;
+        }
+        items[(int) t & mask] = item;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest item, only called from the consumer thread
+     * @return the item, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return null;
+        }
+        int index = (int) h & mask;
+        T item = (T) items[index];
+        items[index] = null;
+        head.lazySet(h + 1);
+        return item;
+    }
+
+    /**
+     * @return number of items in the queue, may be out of date by the time it returns
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
@@ -0,0 +1,325 @@
+package keyshooter;
+
+import java.util.Arrays;
+
+/**
+ * Corey Walker
+ * Streaming statistics about how the player types, fed one key at a time.
+ * Everything is kept in fixed size primitive arrays indexed by letter (A is 0),
+ * so memory does not grow with the length of the session and recording a key
+ * does not allocate.
+ * Tracks:
+ *   letters typed and words shot per second over the last minute, for sliding window CPM/WPM,
+ *   the time since the previous key for every letter, as a small log scale histogram,
+ *   how often each letter was a mistake (no word on the screen starts with what was typed)
+ *   and how often it was deleted with backspace.
+ */
+public class TypingStats {
+    public static final int LETTERS = 26;
+    // Number of one second buckets kept for the sliding windows
+    private static final int WINDOW_SECONDS = 60;
+    // Gaps longer than this are pauses, not typing, and are left out of the latencies
+    private static final long MAX_GAP = 2_000_000_000L;
+    // Latency buckets: each power of two of microseconds from 512 up to MAX_GAP is split in 4
+    private static final int SUB_BUCKETS = 4;
+    private static final int LATENCY_BUCKETS = 12 * SUB_BUCKETS;
+
+    // Letters typed, words shot and which second each window bucket currently holds
+    private final int[] windowLetters = new int[WINDOW_SECONDS];
+    private final int[] windowWords = new int[WINDOW_SECONDS];
+    private final long[] windowSecond = new long[WINDOW_SECONDS];
+    // Per letter counts
+    private final int[] presses = new int[LETTERS];
+    private final int[] errors = new int[LETTERS];
+    private final int[] backspaced = new int[LETTERS];
+    // Per letter latency histograms, letter l uses latencies[l * LATENCY_BUCKETS] onwards
+    private final int[] latencies = new int[LETTERS * LATENCY_BUCKETS];
+    private final int[] latencyCounts = new int[LETTERS];
+    // Totals for the whole session
+    private int totalLetters = 0;
+    private int totalWords = 0;
+    private int totalErrors = 0;
+    private int totalBackspaces = 0;
+    // Time of the first and the last key in nanoseconds
+    private long firstKey = -1;
+    private long lastKey;
+
+    public TypingStats() {
+        Arrays.fill(windowSecond, -1);
+    }
+
+    /**
+     * Records a typed letter
+     * @param letter uppercase letter, anything outside A to Z is ignored
+     * @param time System.nanoTime() when it was pressed
+     * @param error true if no word on the screen starts with what has been typed
+     * @param hit true if the letter finished a word
+     */
+    public void letter(char letter, long time, boolean error, boolean hit) {
+        if (letter < 'A' || letter > 'Z') {
+            return;
+        }
+        int l = letter - 'A';
+        if (firstKey >= 0 && time - lastKey <= MAX_GAP) {
+            latencies[l * LATENCY_BUCKETS + latencyBucket(time - lastKey)]++;
+            latencyCounts[l]++;
+        }
+        int bucket = windowBucket(time);
+        windowLetters[bucket]++;
+        presses[l]++;
+        totalLetters++;
+        if (error) {
+            errors[l]++;
+            totalErrors++;
+        }
+        if (hit) {
+            windowWords[bucket]++;
+            totalWords++;
+        }
+        keyed(time);
+    }
+
+    /**
+     * Records a backspace
+     * @param deleted letter that was deleted, or 0 if there was nothing to delete
+     * @param time System.nanoTime() when it was pressed
+     */
+    public void backspace(char deleted, long time) {
+        totalBackspaces++;
+        if (deleted >= 'A' && deleted <= 'Z') {
+            backspaced[deleted - 'A']++;
+        }
+        keyed(time);
+    }
+
+    /**
+     * Remembers the time of a key for the next latency and the session length
+     * @param time System.nanoTime() when it was pressed
+     */
+    private void keyed(long time) {
+        if (firstKey < 0) {
+            firstKey = time;
+        }
+        lastKey = time;
+    }
+
+    /**
+     * Finds the window bucket for a time, clearing it if it held an older second
+     * @param time time in nanoseconds
+     * @return index into the window arrays
+     */
+    private int windowBucket(long time) {
+        long second = Math.floorDiv(time, 1_000_000_000L);
+        int bucket = Math.floorMod(second, WINDOW_SECONDS);
+        if (windowSecond[bucket] != second) {
+            windowSecond[bucket] = second;
+            windowLetters[bucket] = 0;
+            windowWords[bucket] = 0;
+        }
+        return bucket;
+    }
+
+    /**
+     * @param nanos time between keys
+     * @return latency bucket, the last bucket holds everything longer
+     */
+    private static int latencyBucket(long nanos) {
+        long micros = Math.max(512, nanos / 1000);
+        // The top bit picks the power of two, counted from 512 microseconds, and the next two bits the sub bucket
+        int shift = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (shift - 2)) & (SUB_BUCKETS - 1));
+        int bucket = (shift - 9) * SUB_BUCKETS + sub;
+        return Math.min(Math.max(bucket, 0), LATENCY_BUCKETS - 1);
+    }
+
+    /**
+     * @param bucket latency bucket
+     * @return lowest latency in the bucket in milliseconds
+     */
+    private static double latencyOf(int bucket) {
+        int shift = bucket / SUB_BUCKETS + 9;
+        long micros = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (shift - 2);
+        return micros / 1000.0;
+    }
+
+    /**
+     * Adds up a window bucket array over the last seconds
+     * @param counts windowLetters or windowWords
+     * @param now current time in nanoseconds
+     * @param seconds length of the window, at most 60
+     * @return per minute rate over the window, or over the session if it is shorter
+     */
+    private double perMinute(int[] counts, long now, int seconds) {
+        if (firstKey < 0) {
+            return 0;
+        }
+        long nowSecond = Math.floorDiv(now, 1_000_000_000L);
+        seconds = Math.min(seconds, WINDOW_SECONDS);
+        int total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (windowSecond[i] > nowSecond - seconds && windowSecond[i] <= nowSecond) {
+                total += counts[i];
+            }
+        }
+        double span = Math.min(seconds, Math.max(1, (now - firstKey) / 1_000_000_000.0));
+        return total * 60 / span;
+    }
+
+    /**
+     * @param now current time in nanoseconds
+     * @param seconds length of the sliding window, at most 60
+     * @return words shot per minute over the window
+     */
+    public double getWordsPerMinute(long now, int seconds) {
+        return perMinute(windowWords, now, seconds);
+    }
+
+    /**
+     * @param now current time in nanoseconds
+     * @param seconds length of the sliding window, at most 60
+     * @return letters typed per minute over the window
+     */
+    public double getCharactersPerMinute(long now, int seconds) {
+        return perMinute(windowLetters, now, seconds);
+    }
+
+    /**
+     * @return words shot per minute from the first key to the last
+     */
+    public double getSessionWordsPerMinute() {
+        return totalWords / Math.max(1.0, getSessionSeconds()) * 60;
+    }
+
+    /**
+     * @return letters typed per minute from the first key to the last
+     */
+    public double getSessionCharactersPerMinute() {
+        return totalLetters / Math.max(1.0, getSessionSeconds()) * 60;
+    }
+
+    /**
+     * @return seconds from the first key to the last
+     */
+    public double getSessionSeconds() {
+        return firstKey < 0 ? 0 : (lastKey - firstKey) / 1_000_000_000.0;
+    }
+
+    /**
+     * @return share of letters that were not mistakes, 1 if nothing was typed
+     */
+    public double getAccuracy() {
+        return totalLetters == 0 ? 1 : 1 - (double) totalErrors / totalLetters;
+    }
+
+    /**
+     * @param letter index of the letter, A is 0
+     * @return times the letter was typed
+     */
+    public int getPresses(int letter) {
+        return presses[letter];
+    }
+
+    /**
+     * @param letter index of the letter, A is 0
+     * @return share of presses of the letter that were mistakes
+     */
+    public double getErrorRate(int letter) {
+        return presses[letter] == 0 ? 0 : (double) errors[letter] / presses[letter];
+    }
+
+    /**
+     * @param letter index of the letter, A is 0
+     * @return share of presses of the letter that were deleted with backspace
+     */
+    public double getBackspaceRate(int letter) {
+        return presses[letter] == 0 ? 0 : (double) backspaced[letter] / presses[letter];
+    }
+
+    /**
+     * Finds a percentile of the time between the previous key and this letter
+     * @param letter index of the letter, A is 0
+     * @param percentile between 0 and 100
+     * @return latency in milliseconds, accurate to about 20%, or 0 if there are none
+     */
+    public double getLatencyPercentile(int letter, double percentile) {
+        int count = latencyCounts[letter];
+        if (count == 0) {
+            return 0;
+        }
+        int target = Math.max(1, (int) Math.ceil(count * percentile / 100));
+        int seen = 0;
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            seen += latencies[letter * LATENCY_BUCKETS + b];
+            if (seen >= target) {
+                return latencyOf(b);
+            }
+        }
+        return latencyOf(LATENCY_BUCKETS - 1);
+    }
+
+    /**
+     * Scores how much trouble each letter gives the player, mistakes plus deletions,
+     * scaled so the worst letter is 1. Used to color the keyboard.
+     * @return 26 values between 0 and 1, A first
+     */
+    public double[] getTroubleMap() {
+        double[] trouble = new double[LETTERS];
+        double worst = 0;
+        for (int l = 0; l < LETTERS; l++) {
+            trouble[l] = getErrorRate(l) + getBackspaceRate(l);
+            worst = Math.max(worst, trouble[l]);
+        }
+        if (worst > 0) {
+            for (int l = 0; l < LETTERS; l++) {
+                trouble[l] /= worst;
+            }
+        }
+        return trouble;
+    }
+
+    /**
+     * @return a few lines describing the session, for the end screen
+     */
+    public String getSummary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%.1f words per minute, %.0f letters per minute%n",
+                getSessionWordsPerMinute(), getSessionCharactersPerMinute()));
+        out.append(String.format("Accuracy %.0f%%, %d backspaces in %.0f seconds%n",
+                getAccuracy() * 100, totalBackspaces, getSessionSeconds()));
+        out.append("Most mistakes: ").append(worstLetters(false)).append('\n');
+        out.append("Slowest keys: ").append(worstLetters(true));
+        return out.toString();
+    }
+
+    /**
+     * Lists the three worst letters, either by median latency or by mistakes and deletions
+     * @param bySpeed true to rank by median latency
+     * @return letters with their values, or "none"
+     */
+    private String worstLetters(boolean bySpeed) {
+        double[] score = new double[LETTERS];
+        for (int l = 0; l < LETTERS; l++) {
+            score[l] = bySpeed ? getLatencyPercentile(l, 50) : getErrorRate(l) + getBackspaceRate(l);
+        }
+        StringBuilder out = new StringBuilder();
+        for (int n = 0; n < 3; n++) {
+            int worst = -1;
+            for (int l = 0; l < LETTERS; l++) {
+                if (score[l] > 0 && (worst < 0 || score[l] > score[worst])) {
+                    worst = l;
+                }
+            }
+            if (worst < 0) {
+                break;
+            }
+            if (n > 0) {
+                out.append(", ");
+            }
+            out.append((char) ('A' + worst))
+                    .append(bySpeed ? String.format(" %.0f ms", score[worst])
+                            : String.format(" %.0f%%", score[worst] * 100));
+            score[worst] = 0;
+        }
+        return out.length() == 0 ? "none" : out.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package keyshooter;
+
+import javafx.scene.input.KeyCode;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Corey Walker
+ * utility class with methods for combing a list of keycodes into a string
+ * and for reading in words from a document containing 5 letter words
+ * or from its compiled form
+ */
+public class Utils {
+    /**
+     * Takes a list of keycodes and builds a string representing the typed keys
+     * @param keyCodes list of keys that have been pressed
+     * @return string representation of pressed keys
+     */
+    public static String combineList(List<KeyCode> keyCodes) {
+        StringBuilder sb = new StringBuilder();
+
+        for (KeyCode keyCode : keyCodes) {
+            sb.append(keyCode.getChar());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Reads words from a file using a scanner and adds the words to a List.
+     * Each line is trimmed and blank lines are skipped, the same as DictionaryCompiler,
+     * so a stray space or an empty last line never spawns as a word.
+     * @param path file location
+     * @return list of words that can be shown on the screen
+     * @throws FileNotFoundException thrown when the path is incorrect
+     */
+    public static List<String> readWords(String path) throws FileNotFoundException {
+        Scanner sc = new Scanner(new File(path));
+        List<String> words = new ArrayList<>();
+
+        while (sc.hasNextLine()) {
+            String word = sc.nextLine().trim();
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * Loads the dictionary for a text file of words.
+     * If a compiled .dict file made by DictionaryCompiler sits next to the text file
+     * and is at least as new, it is memory mapped instead so no words are read up front.
+     * Otherwise the text file is read with readWords and every word is uppercased.
+     * @param path location of the text file
+     * @return dictionary of uppercase words
+     * @throws IOException thrown when neither file can be read
+     */
+    public static Dictionary loadDictionary(String path) throws IOException {
+        Path text = Paths.get(path);
+        Path compiled = DictionaryCompiler.compiledPathFor(text);
+        if (Files.isReadable(compiled) && (!Files.exists(text)
+                || Files.getLastModifiedTime(compiled).compareTo(Files.getLastModifiedTime(text)) >= 0)) {
+            return MappedDictionary.open(compiled);
+        }
+        List<String> words = readWords(path);
+        // Uppercase every word once here instead of on every spawn
+        words.replaceAll(String::toUpperCase);
+        return Dictionary.of(words);
+    }
+}
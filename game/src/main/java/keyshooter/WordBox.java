@@ -0,0 +1,132 @@
+package keyshooter;
+
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Corey Walker
+ * A word box is a stackPane on which a word is printed and then displayed to the screen.
+ * Boxes are reused rather than thrown away: a WordBoxPool hands them out, rebind shows a
+ * different word and color and moves the box back to the corner, and setPosition moves it
+ * with its translate x/y so the layout is not redone every frame.
+ * Given a WordSpriteCache the word is an ImageView of the cached image instead of a Label,
+ * so a word that was shown before is not laid out and rasterized again.
+ */
+public class WordBox {
+    // Fonts shared by every WordBox, one per size
+    private static final Map<Double, Font> fonts = new HashMap<>();
+
+    private final StackPane wordBox;
+    private final Rectangle rect;
+    // Shows the word when there is no sprite cache, otherwise null
+    private final Label text;
+    // Shows the cached image of the word when there is a sprite cache, otherwise null
+    private final ImageView sprite;
+    private final WordSpriteCache sprites;
+    private final Font font;
+    private String word;
+
+    /**
+     * @param size size of the rectangle
+     * @param word word to show
+     * @param color color of the rectangle
+     * @param sprites where to get images of words from, null to use a Label
+     */
+    public WordBox(double size, String word, Color color, WordSpriteCache sprites) {
+        wordBox = new StackPane();
+        rect = new Rectangle(size, size, color);
+        this.word = word.toUpperCase();
+        this.sprites = sprites;
+        font = fontFor(size - 2);
+        if (sprites == null) {
+            text = new Label(this.word);
+            text.setFont(font);
+            sprite = null;
+            wordBox.getChildren().addAll(rect, text);
+        }
+        else {
+            text = null;
+            sprite = new ImageView();
+            showSprite();
+            wordBox.getChildren().addAll(rect, sprite);
+        }
+    }
+
+    /**
+     * Points the ImageView at the cached image of the word, sized for the screen's scale
+     */
+    private void showSprite() {
+        sprite.setImage(sprites.get(word, font, Color.BLACK));
+        sprite.setFitWidth(sprites.getWidth(sprite.getImage()));
+        sprite.setFitHeight(sprites.getHeight(sprite.getImage()));
+    }
+
+    /**
+     * Gets the shared font for a size, creating it the first time it is needed
+     * @param size font size
+     * @return cached font
+     */
+    public static Font fontFor(double size) {
+        return fonts.computeIfAbsent(size, Font::new);
+    }
+
+    /**
+     * Changes the word and color of the box and moves it back to the top left corner
+     * so it can be used again for a different word
+     * @param word new word to show
+     * @param color new color of the rectangle
+     */
+    public void rebind(String word, Color color) {
+        this.word = word.toUpperCase();
+        if (sprites == null) {
+            text.setText(this.word);
+        }
+        else {
+            showSprite();
+        }
+        rect.setFill(color);
+        wordBox.relocate(0, 0);
+        setPosition(0, 0);
+    }
+
+    /**
+     * Moves the box by setting its translate x/y
+     * @param x x position
+     * @param y y position
+     */
+    public void setPosition(double x, double y) {
+        wordBox.setTranslateX(x);
+        wordBox.setTranslateY(y);
+    }
+
+    /**
+     * getter for the stackPane gui element
+     * @return StackPane
+     */
+    public StackPane getWordBox() {
+        return wordBox;
+    }
+
+    /**
+     * getter for the rectangle the word label is on
+     * @return rect
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    /**
+     * getter for the string representation of the word
+     * @return word
+     */
+    public String getWord() {
+        return word;
+    }
+}
@@ -0,0 +1,79 @@
+package keyshooter;
+
+import javafx.scene.paint.Color;
+
+import java.util.ArrayDeque;
+
+/**
+ * Corey Walker
+ * Bounded pool of WordBoxes of one size.
+ * Boxes are rebound to a new word instead of being created for every spawn,
+ * so steady play does not keep creating StackPanes, Rectangles and Labels.
+ * Boxes released when the pool is full are left for the garbage collector.
+ */
+public class WordBoxPool {
+    // Size of every box in the pool
+    private final double size;
+    // Most boxes kept waiting in the pool
+    private final int maxIdle;
+    // Boxes that are not on the screen
+    private final ArrayDeque<WordBox> idle;
+    // Cached images of the words, null if boxes use Labels
+    private final WordSpriteCache sprites;
+    // Counters for how well the pool is working
+    private long created = 0;
+    private long reused = 0;
+
+    /**
+     * @param size size of every box
+     * @param maxIdle most boxes kept waiting in the pool
+     * @param sprites cached images of the words for the boxes to show, null to use Labels
+     */
+    public WordBoxPool(double size, int maxIdle, WordSpriteCache sprites) {
+        this.size = size;
+        this.maxIdle = maxIdle;
+        this.sprites = sprites;
+        idle = new ArrayDeque<>(maxIdle);
+    }
+
+    /**
+     * Gets a box showing the word, reusing an idle box when there is one
+     * @param word word to show
+     * @param color color of the rectangle
+     * @return a box that is not on the screen
+     */
+    public WordBox acquire(String word, Color color) {
+        WordBox wordBox = idle.pollFirst();
+        if (wordBox == null) {
+            created++;
+            return new WordBox(size, word, color, sprites);
+        }
+        reused++;
+        wordBox.rebind(word, color);
+        return wordBox;
+    }
+
+    /**
+     * Gives a box back to the pool, it must already be off the screen
+     * @param wordBox box that is no longer used
+     */
+    public void release(WordBox wordBox) {
+        if (idle.size() < maxIdle) {
+            idle.addFirst(wordBox);
+        }
+    }
+
+    /**
+     * @return number of boxes the pool has had to create
+     */
+    public long getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * @return number of times an idle box was reused
+     */
+    public long getReusedCount() {
+        return reused;
+    }
+}
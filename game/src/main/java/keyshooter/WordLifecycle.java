@@ -0,0 +1,202 @@
+package keyshooter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Corey Walker
+ * Keeps track of every word that has been spawned onto the screen.
+ * A word goes SPAWNED -> LIVE -> HIT or EXPIRED -> RELEASED, and once it is released
+ * its ActiveWord is reused for a later spawn. There is a hard cap on how many words
+ * can be live at once; spawning past the cap expires the oldest live word first.
+ * This keeps both memory and the number of words that have to be checked flat
+ * no matter how long the game runs.
+ */
+public class WordLifecycle {
+    /**
+     * Called when a word is released so whoever is showing it can clean up.
+     */
+    public interface Listener {
+        /**
+         * @param word word that is being released, its state is HIT or EXPIRED
+         */
+        void onRelease(ActiveWord word);
+    }
+
+    // One ActiveWord for each slot, reused between spawns
+    private final ActiveWord[] slots;
+    // Stack of slots that are not in use
+    private final int[] freeSlots;
+    private int freeCount;
+    // Live words in no particular order, a released word is swapped with the last one
+    private final List<ActiveWord> live;
+    // Index of each slot's word in live, while it is live
+    private final int[] livePositions;
+    // Read only view of live that is handed out
+    private final List<ActiveWord> liveView;
+    private final Listener listener;
+
+    // Counters for the whole session
+    private long spawnedCount = 0;
+    private long hitCount = 0;
+    private long expiredCount = 0;
+
+    public WordLifecycle(int capacity, Listener listener) {
+        slots = new ActiveWord[capacity];
+        freeSlots = new int[capacity];
+        livePositions = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ActiveWord(i);
+            // Push in reverse so slot 0 is handed out first
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+        live = new ArrayList<>(capacity);
+        liveView = Collections.unmodifiableList(live);
+        this.listener = listener;
+    }
+
+    /**
+     * Takes a free slot for a new word. If every slot is in use the
+     * oldest live word is expired to make room, which means a scan of the live words,
+     * but only when the screen is full.
+     * The word has to be made live with goLive once it is on the screen.
+     * @param word uppercase word to spawn
+     * @return the spawned word
+     */
+    public ActiveWord spawn(String word) {
+        if (freeCount == 0) {
+            expire(getOldest());
+        }
+        ActiveWord activeWord = slots[freeSlots[--freeCount]];
+        activeWord.spawn(word, spawnedCount++);
+        return activeWord;
+    }
+
+    /**
+     * Moves a spawned word to LIVE, after which it can be hit or expire
+     * @param word word that is now on the screen
+     */
+    public void goLive(ActiveWord word) {
+        if (word.getState() == WordState.SPAWNED) {
+            word.setState(WordState.LIVE);
+            livePositions[word.getSlot()] = live.size();
+            live.add(word);
+        }
+    }
+
+    /**
+     * Marks a live word as typed by the user and releases it
+     * @param word word that was typed
+     * @return false if the word was not live
+     */
+    public boolean hit(ActiveWord word) {
+        if (word.getState() != WordState.LIVE) {
+            return false;
+        }
+        word.setState(WordState.HIT);
+        hitCount++;
+        release(word);
+        return true;
+    }
+
+    /**
+     * Marks a live word as having left the screen and releases it
+     * @param word word that expired
+     * @return false if the word was not live
+     */
+    public boolean expire(ActiveWord word) {
+        if (word.getState() != WordState.LIVE) {
+            return false;
+        }
+        word.setState(WordState.EXPIRED);
+        expiredCount++;
+        release(word);
+        return true;
+    }
+
+    /**
+     * Tells the listener, then frees the word's slot.
+     * The last live word takes the released word's place, so this is O(1).
+     * @param word word that was hit or expired
+     */
+    private void release(ActiveWord word) {
+        listener.onRelease(word);
+        int position = livePositions[word.getSlot()];
+        ActiveWord last = live.remove(live.size() - 1);
+        if (last != word) {
+            live.set(position, last);
+            livePositions[last.getSlot()] = position;
+        }
+        word.setState(WordState.RELEASED);
+        freeSlots[freeCount++] = word.getSlot();
+    }
+
+    /**
+     * getter for the words that are currently live, in no particular order,
+     * ActiveWord.getSpawnOrder tells which is older
+     * @return unmodifiable list of live words
+     */
+    public List<ActiveWord> getLive() {
+        return liveView;
+    }
+
+    /**
+     * @return the live word that was spawned first, or null if none are live
+     */
+    public ActiveWord getOldest() {
+        ActiveWord oldest = null;
+        for (int i = 0; i < live.size(); i++) {
+            ActiveWord word = live.get(i);
+            if (oldest == null || word.getSpawnOrder() < oldest.getSpawnOrder()) {
+                oldest = word;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * getter for the word using a slot
+     * @param slot slot between 0 and the capacity
+     * @return the ActiveWord for that slot, check its state to see if it is in use
+     */
+    public ActiveWord getWord(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * @return maximum number of words that can be live at once
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return number of words that are currently live
+     */
+    public int getLiveCount() {
+        return live.size();
+    }
+
+    /**
+     * @return number of words spawned this session
+     */
+    public long getSpawnedCount() {
+        return spawnedCount;
+    }
+
+    /**
+     * @return number of words typed this session
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of words that expired this session
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+}
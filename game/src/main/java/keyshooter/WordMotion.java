@@ -0,0 +1,129 @@
+package keyshooter;
+
+import java.util.Arrays;
+
+/**
+ * Corey Walker
+ * Moves every floating word in a single pass each frame instead of
+ * giving each word its own Timeline.
+ * Positions, velocities and time left are kept in primitive arrays indexed by
+ * the word's lifecycle slot (struct of arrays), and the slots that are moving
+ * are kept packed at the front of an array so a frame only touches moving words.
+ */
+public class WordMotion {
+    // Position of each slot in pixels
+    private final double[] x;
+    private final double[] y;
+    // Velocity of each slot in pixels per second
+    private final double[] vx;
+    private final double[] vy;
+    // Seconds until each slot reaches the end of its path
+    private final double[] remaining;
+    // Slots that are moving, packed into the first movingCount entries
+    private final int[] moving;
+    // Index of each slot in moving, -1 if the slot is not moving
+    private final int[] movingIndex;
+    private int movingCount = 0;
+
+    public WordMotion(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        remaining = new double[capacity];
+        moving = new int[capacity];
+        movingIndex = new int[capacity];
+        Arrays.fill(movingIndex, -1);
+    }
+
+    /**
+     * Starts moving a slot in a straight line from one point to another
+     * @param slot lifecycle slot of the word
+     * @param startX starting x position
+     * @param startY starting y position
+     * @param endX x position at the end of the path
+     * @param endY y position at the end of the path
+     * @param seconds time it takes to get to the end
+     */
+    public void start(int slot, double startX, double startY, double endX, double endY, double seconds) {
+        x[slot] = startX;
+        y[slot] = startY;
+        vx[slot] = (endX - startX) / seconds;
+        vy[slot] = (endY - startY) / seconds;
+        remaining[slot] = seconds;
+        if (movingIndex[slot] == -1) {
+            movingIndex[slot] = movingCount;
+            moving[movingCount++] = slot;
+        }
+    }
+
+    /**
+     * Stops moving a slot. Does nothing if it was not moving.
+     * The last moving slot takes its place so the moving slots stay packed.
+     * @param slot lifecycle slot of the word
+     */
+    public void stop(int slot) {
+        int index = movingIndex[slot];
+        if (index == -1) {
+            return;
+        }
+        int last = moving[--movingCount];
+        moving[index] = last;
+        movingIndex[last] = index;
+        movingIndex[slot] = -1;
+    }
+
+    /**
+     * Advances every moving slot by the elapsed time.
+     * Slots that reach the end of their path stop at the end point and are
+     * written into finished, the caller is expected to stop them.
+     * @param seconds time since the last step
+     * @param finished array to put finished slots in, at least as big as the capacity
+     * @return number of slots written into finished
+     */
+    public int step(double seconds, int[] finished) {
+        int finishedCount = 0;
+        for (int i = 0; i < movingCount; i++) {
+            int slot = moving[i];
+            double dt = Math.min(seconds, remaining[slot]);
+            x[slot] += vx[slot] * dt;
+            y[slot] += vy[slot] * dt;
+            remaining[slot] -= dt;
+            if (remaining[slot] <= 0) {
+                finished[finishedCount++] = slot;
+            }
+        }
+        return finishedCount;
+    }
+
+    /**
+     * @return number of slots that are moving
+     */
+    public int getMovingCount() {
+        return movingCount;
+    }
+
+    /**
+     * @param i index between 0 and getMovingCount()
+     * @return slot at that index of the packed moving slots
+     */
+    public int getMoving(int i) {
+        return moving[i];
+    }
+
+    /**
+     * @param slot lifecycle slot of the word
+     * @return x position of the slot
+     */
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * @param slot lifecycle slot of the word
+     * @return y position of the slot
+     */
+    public double getY(int slot) {
+        return y[slot];
+    }
+}
@@ -0,0 +1,27 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * Draws the floating words inside the words pane.
+ * Words decides what is on the screen and where; a renderer only shows it,
+ * so switching renderers does not change how the game plays.
+ */
+public interface WordRenderer {
+    /**
+     * Called when a word is spawned, before it is moved for the first time
+     * @param word word that was spawned
+     */
+    void add(ActiveWord word);
+
+    /**
+     * Called when a word is hit or expires
+     * @param word word that is being released
+     */
+    void remove(ActiveWord word);
+
+    /**
+     * Called once per frame after the words have been moved
+     * @param motion positions of every moving word
+     */
+    void render(WordMotion motion);
+}
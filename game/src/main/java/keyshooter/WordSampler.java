@@ -0,0 +1,305 @@
+package keyshooter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Corey Walker
+ * Picks which dictionary word to spawn next.
+ * Words are grouped into buckets by length and by difficulty tier, where
+ * difficulty is how rare the word's letters are in English. Each bucket has
+ * a weight and an AliasSampler picks a bucket in O(1), then a word is picked
+ * uniformly from inside the bucket, so a draw is constant time no matter how
+ * big the dictionary is. Changing weights only rebuilds the small bucket table.
+ * Words are also indexed by the letters they contain so spawning can lean
+ * towards words with letters the player is weak on.
+ * With the default weights every word is equally likely.
+ * Sampling only reads the tables, so one sampler can be shared by many
+ * threads as long as its preferences are not changed while they sample.
+ */
+public class WordSampler {
+    // Words longer than this share the last length bucket
+    public static final int MAX_LENGTH = 16;
+    // Number of difficulty tiers, tier 0 has the most common letters
+    public static final int TIERS = 4;
+    private static final int BUCKETS = MAX_LENGTH * TIERS;
+    private static final int LETTERS = 26;
+    // How fast preference falls off away from the target difficulty
+    private static final double DIFFICULTY_SPREAD = 0.35;
+    // How often each letter shows up in English text, in percent, A to Z
+    private static final double[] LETTER_FREQUENCY = {
+            8.2, 1.5, 2.8, 4.3, 12.7, 2.2, 2.0, 6.1, 7.0, 0.15, 0.77, 4.0, 2.4,
+            6.7, 7.5, 1.9, 0.095, 6.0, 6.3, 9.1, 2.8, 0.98, 2.4, 0.15, 2.0, 0.074
+    };
+
+    private final Dictionary dictionary;
+    // Word indexes sorted by bucket, bucket b is bucketStart[b] until bucketStart[b + 1]
+    private final int[] bucketOrder;
+    private final int[] bucketStart;
+    // Word indexes sorted by letter, a word shows up once for every different letter it has
+    private final int[] letterOrder;
+    private final int[] letterStart;
+    // Preference for each bucket and each letter set by the caller
+    private final double[] bucketPreference;
+    private final double[] letterPreference;
+    // Preference times bucket size, what the alias tables are built from
+    private final double[] bucketWeights;
+    private final double[] letterWeights;
+    private final AliasSampler buckets;
+    private final AliasSampler letters;
+    // Chance of picking by letter instead of by bucket
+    private double letterShare = 0;
+    // Shortest and longest length bucket that has words, used by setDifficulty
+    private int minLength;
+    private int maxLength;
+
+    /**
+     * Indexes every word in the dictionary. This reads each word once with
+     * Dictionary.forEachChar, so no word becomes a String until it is drawn.
+     * @param dictionary words to pick from
+     */
+    public WordSampler(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        int count = dictionary.size();
+
+        // Work out each word's length, letters and rarity
+        int[] lengths = new int[count];
+        int[] letterMasks = new int[count];
+        double[] rarity = new double[count];
+        int letterEntries = 0;
+        WordShape shape = new WordShape();
+        for (int i = 0; i < count; i++) {
+            shape.length = 0;
+            shape.rarity = 0;
+            shape.mask = 0;
+            dictionary.forEachChar(i, shape);
+            lengths[i] = Math.max(1, Math.min(shape.length, MAX_LENGTH));
+            rarity[i] = shape.length == 0 ? 0 : shape.rarity / shape.length;
+            letterMasks[i] = shape.mask;
+            letterEntries += Integer.bitCount(shape.mask);
+        }
+
+        // Tiers split the words into equal sized groups by rarity
+        double[] sorted = rarity.clone();
+        Arrays.sort(sorted);
+        double[] tierLimits = new double[TIERS - 1];
+        for (int t = 0; t < TIERS - 1; t++) {
+            tierLimits[t] = count == 0 ? 0 : sorted[(int) ((long) count * (t + 1) / TIERS)];
+        }
+
+        int[] bucketOf = new int[count];
+        bucketStart = new int[BUCKETS + 1];
+        for (int i = 0; i < count; i++) {
+            int tier = 0;
+            while (tier < TIERS - 1 && rarity[i] >= tierLimits[tier]) {
+                tier++;
+            }
+            bucketOf[i] = bucket(lengths[i], tier);
+            bucketStart[bucketOf[i] + 1]++;
+        }
+        bucketOrder = new int[count];
+        fill(bucketStart, bucketOrder, bucketOf);
+
+        letterStart = new int[LETTERS + 1];
+        for (int i = 0; i < count; i++) {
+            for (int mask = letterMasks[i]; mask != 0; mask &= mask - 1) {
+                letterStart[Integer.numberOfTrailingZeros(mask) + 1]++;
+            }
+        }
+        letterOrder = new int[letterEntries];
+        int[] next = prefixSum(letterStart);
+        for (int i = 0; i < count; i++) {
+            for (int mask = letterMasks[i]; mask != 0; mask &= mask - 1) {
+                letterOrder[next[Integer.numberOfTrailingZeros(mask)]++] = i;
+            }
+        }
+
+        minLength = MAX_LENGTH;
+        maxLength = 1;
+        for (int b = 0; b < BUCKETS; b++) {
+            if (bucketSize(b) > 0) {
+                minLength = Math.min(minLength, b / TIERS + 1);
+                maxLength = Math.max(maxLength, b / TIERS + 1);
+            }
+        }
+
+        bucketPreference = new double[BUCKETS];
+        letterPreference = new double[LETTERS];
+        bucketWeights = new double[BUCKETS];
+        letterWeights = new double[LETTERS];
+        buckets = new AliasSampler(BUCKETS);
+        letters = new AliasSampler(LETTERS);
+        Arrays.fill(bucketPreference, 1);
+        Arrays.fill(letterPreference, 1);
+        rebuildBuckets();
+        rebuildLetters();
+    }
+
+    /**
+     * Picks the index of the next word to spawn
+     * @param random random number generator
+     * @return index into the dictionary, or -1 if the dictionary has no words
+     */
+    public int sample(SplittableRandom random) {
+        if (dictionary.size() == 0) {
+            return -1;
+        }
+        if (letterShare > 0 && letters.hasWeight() && random.nextDouble() < letterShare) {
+            int letter = letters.sample(random);
+            int start = letterStart[letter];
+            return letterOrder[start + random.nextInt(letterStart[letter + 1] - start)];
+        }
+        int bucket = buckets.sample(random);
+        if (bucket == -1) {
+            return random.nextInt(dictionary.size());
+        }
+        int start = bucketStart[bucket];
+        return bucketOrder[start + random.nextInt(bucketStart[bucket + 1] - start)];
+    }
+
+    /**
+     * Sets how much one bucket is preferred and rebuilds the bucket table
+     * @param length word length, lengths over MAX_LENGTH share a bucket
+     * @param tier difficulty tier between 0 and TIERS
+     * @param preference 1 is normal, 0 never picks the bucket
+     */
+    public void setBucketPreference(int length, int tier, double preference) {
+        bucketPreference[bucket(Math.max(1, Math.min(length, MAX_LENGTH)), tier)] = preference;
+        rebuildBuckets();
+    }
+
+    /**
+     * Prefers words around a difficulty level. Low levels favour short
+     * words with common letters, high levels long words with rare letters.
+     * @param level between 0 and 1, or a negative number to make every word equally likely again
+     */
+    public void setDifficulty(double level) {
+        for (int b = 0; b < BUCKETS; b++) {
+            if (level < 0) {
+                bucketPreference[b] = 1;
+                continue;
+            }
+            int length = b / TIERS + 1;
+            double tierDistance = (double) (b % TIERS) / (TIERS - 1) - level;
+            double lengthDistance = (maxLength == minLength ? level : (double) (length - minLength) / (maxLength - minLength)) - level;
+            double distance = tierDistance * tierDistance + lengthDistance * lengthDistance;
+            bucketPreference[b] = Math.exp(-distance / (2 * DIFFICULTY_SPREAD * DIFFICULTY_SPREAD));
+        }
+        rebuildBuckets();
+    }
+
+    /**
+     * Leans spawning towards words containing certain letters, such as the player's weak keys.
+     * @param preference preference for each letter A to Z, 1 is normal
+     * @param share chance between 0 and 1 that a word is picked by letter instead of by bucket
+     */
+    public void setLetterPreference(double[] preference, double share) {
+        System.arraycopy(preference, 0, letterPreference, 0, LETTERS);
+        letterShare = share;
+        rebuildLetters();
+    }
+
+    /**
+     * getter for the words being picked from
+     * @return dictionary
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @param length word length, lengths over MAX_LENGTH share a bucket
+     * @param tier difficulty tier between 0 and TIERS
+     * @return number of words in that bucket
+     */
+    public int getBucketSize(int length, int tier) {
+        return bucketSize(bucket(Math.max(1, Math.min(length, MAX_LENGTH)), tier));
+    }
+
+    /**
+     * @param length word length between 1 and MAX_LENGTH
+     * @param tier difficulty tier between 0 and TIERS
+     * @return index of the bucket
+     */
+    private static int bucket(int length, int tier) {
+        return (length - 1) * TIERS + tier;
+    }
+
+    /**
+     * @param bucket index of the bucket
+     * @return number of words in the bucket
+     */
+    private int bucketSize(int bucket) {
+        return bucketStart[bucket + 1] - bucketStart[bucket];
+    }
+
+    /**
+     * Weighs each bucket by its preference and its size, then rebuilds its alias table
+     */
+    private void rebuildBuckets() {
+        for (int b = 0; b < BUCKETS; b++) {
+            bucketWeights[b] = bucketPreference[b] * bucketSize(b);
+        }
+        buckets.rebuild(bucketWeights);
+    }
+
+    /**
+     * Weighs each letter by its preference and how many words have it, then rebuilds its alias table
+     */
+    private void rebuildLetters() {
+        for (int l = 0; l < LETTERS; l++) {
+            letterWeights[l] = letterPreference[l] * (letterStart[l + 1] - letterStart[l]);
+        }
+        letters.rebuild(letterWeights);
+    }
+
+    /**
+     * Adds up the length, rarity and letters of a word one char at a time
+     */
+    private static final class WordShape implements IntConsumer {
+        // Number of chars seen
+        int length;
+        // Sum of how rare each char is, anything but A-Z counts as rare as Z
+        double rarity;
+        // Bit for each letter A-Z seen
+        int mask;
+
+        @Override
+        public void accept(int c) {
+            length++;
+            if (c >= 'A' && c <= 'Z') {
+                rarity += -Math.log(LETTER_FREQUENCY[c - 'A'] / 100);
+                mask |= 1 << (c - 'A');
+            }
+            else {
+                rarity += -Math.log(LETTER_FREQUENCY['Z' - 'A'] / 100);
+            }
+        }
+    }
+
+    /**
+     * Turns counts into start offsets and places every item after its group's start
+     * @param start counts of each group shifted up by one, becomes the start offsets
+     * @param order array to place items in
+     * @param groupOf group of each item
+     */
+    private static void fill(int[] start, int[] order, int[] groupOf) {
+        int[] next = prefixSum(start);
+        for (int i = 0; i < groupOf.length; i++) {
+            order[next[groupOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * Turns counts shifted up by one into start offsets in place
+     * @param start counts, start[g + 1] is the size of group g
+     * @return copy of the start offsets that can be used as insert positions
+     */
+    private static int[] prefixSum(int[] start) {
+        for (int g = 1; g < start.length; g++) {
+            start[g] += start[g - 1];
+        }
+        return Arrays.copyOf(start, start.length - 1);
+    }
+}
@@ -0,0 +1,199 @@
+package keyshooter;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Corey Walker
+ * Cache of words already drawn to an Image, so a word that comes round again is shown
+ * with an ImageView or a canvas drawImage instead of laying out and rasterizing its text again.
+ * Each word is snapshotted once per font and color from a Text node
+ * (https://openjfx.io/javadoc/18/javafx.graphics/javafx/scene/Node.html#snapshot(javafx.scene.SnapshotParameters,javafx.scene.image.WritableImage))
+ * at the screen's output scale so it stays sharp on high DPI screens.
+ * The images are kept in a LinkedHashMap in access order and the least recently used ones
+ * are dropped once their pixels take up more than the byte budget.
+ * Only used from the JavaFX application thread, like the nodes it draws.
+ */
+public class WordSpriteCache {
+    // Bytes per pixel of a snapshot, which is 32 bit ARGB
+    private static final int BYTES_PER_PIXEL = 4;
+
+    // Most bytes of pixels kept
+    private final long byteBudget;
+    // Screen pixels per layout pixel
+    private final double scale;
+    // Images in least recently used first order
+    private final LinkedHashMap<Key, Image> sprites;
+    // Reused to look up a word without making a key, a new key is only made when a word is added
+    private final Key probe = new Key();
+    // Node the words are drawn from
+    private final Text text;
+    private final SnapshotParameters parameters;
+    // Bytes of pixels currently kept
+    private long bytes = 0;
+    // Counters for how well the cache is working
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param byteBudget most bytes of pixels to keep
+     * @param scale screen pixels per layout pixel, Screen.getOutputScaleX()
+     */
+    public WordSpriteCache(long byteBudget, double scale) {
+        this.byteBudget = byteBudget;
+        this.scale = scale;
+        sprites = new LinkedHashMap<>(256, 0.75f, true);
+        text = new Text();
+        text.setTextOrigin(VPos.TOP);
+        parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+    }
+
+    /**
+     * Gets the image of a word, drawing it the first time it is asked for
+     * or if it has been dropped since
+     * @param word word to draw
+     * @param font font to draw it in
+     * @param color color of the letters
+     * @return image of the word, getWidth(image) and getHeight(image) give its size on the screen
+     */
+    public Image get(String word, Font font, Color color) {
+        probe.set(word, font, color);
+        Image sprite = sprites.get(probe);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+        misses++;
+        text.setText(word);
+        text.setFont(font);
+        text.setFill(color);
+        sprite = text.snapshot(parameters, null);
+        Key key = new Key();
+        key.set(word, font, color);
+        sprites.put(key, sprite);
+        bytes += bytesOf(sprite);
+        evict();
+        return sprite;
+    }
+
+    /**
+     * Drops the least recently used images until the rest fit in the budget.
+     * The newest image is always kept, even if it is bigger than the budget on its own.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key, Image>> eldest = sprites.entrySet().iterator();
+        while (bytes > byteBudget && sprites.size() > 1) {
+            bytes -= bytesOf(eldest.next().getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @param sprite image from the cache
+     * @return width of the image on the screen, in layout pixels
+     */
+    public double getWidth(Image sprite) {
+        return sprite.getWidth() / scale;
+    }
+
+    /**
+     * @param sprite image from the cache
+     * @return height of the image on the screen, in layout pixels
+     */
+    public double getHeight(Image sprite) {
+        return sprite.getHeight() / scale;
+    }
+
+    /**
+     * @param sprite image from the cache
+     * @return bytes its pixels take up
+     */
+    private static long bytesOf(Image sprite) {
+        return (long) sprite.getWidth() * (long) sprite.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * @return number of lookups that found the word already drawn
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that had to draw the word
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return number of images dropped to stay in the budget
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return number of images kept
+     */
+    public int getSize() {
+        return sprites.size();
+    }
+
+    /**
+     * @return bytes of pixels currently kept
+     */
+    public long getByteCount() {
+        return bytes;
+    }
+
+    /**
+     * @return most bytes of pixels kept
+     */
+    public long getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Word, font and color of an image. Mutable so the probe can be reused,
+     * keys in the map are never changed once they are added.
+     */
+    private static final class Key {
+        private String word;
+        private Font font;
+        private Color color;
+
+        void set(String word, Font font, Color color) {
+            this.word = word;
+            this.font = font;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return word.equals(key.word) && font.equals(key.font) && color.equals(key.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return (word.hashCode() * 31 + font.hashCode()) * 31 + color.hashCode();
+        }
+    }
+}
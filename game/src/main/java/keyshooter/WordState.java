@@ -0,0 +1,20 @@
+package keyshooter;
+
+/**
+ * Corey Walker
+ * The stages a floating word goes through from the time it is created until
+ * its slot can be used by another word.
+ * SPAWNED -> LIVE -> HIT or EXPIRED -> RELEASED
+ */
+public enum WordState {
+    // The word has a slot but is not on the screen yet
+    SPAWNED,
+    // The word is on the screen and can be typed
+    LIVE,
+    // The user typed the word
+    HIT,
+    // The word left the screen without being typed
+    EXPIRED,
+    // The word is gone and its slot is free again
+    RELEASED
+}
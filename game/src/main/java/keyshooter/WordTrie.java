@@ -0,0 +1,338 @@
+package keyshooter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Corey Walker
+ * Prefix trie over the words currently on the screen.
+ * Words are inserted when they spawn and removed when they leave the screen.
+ * The trie also keeps a cursor that follows what the user has typed so far,
+ * one letter at a time, so that finding a match, noticing a dead prefix and
+ * counting the words that can still be hit are all O(1) per key press.
+ * Only the letters A-Z are indexed since those are the only keys the game accepts.
+ * @param <T> the value stored at the end of each word
+ */
+public class WordTrie<T> {
+    // Number of children each node can have, one for each letter
+    private static final int ALPHABET = 26;
+    // Index of the root node, the root is never freed
+    private static final int ROOT = 0;
+    // Marker used for a missing child or a cursor that has left the trie
+    private static final int NONE = -1;
+
+    // children[node * ALPHABET + letter] is the child node for that letter
+    private int[] children;
+    // Number of words in the trie that pass through each node
+    private int[] wordCount;
+    // Values of the words that end at each node, null until first needed
+    private List<List<T>> terminals;
+    // Stack of free node indexes that can be reused
+    private int[] freeNodes;
+    private int freeCount = 0;
+    // Number of nodes that have ever been handed out
+    private int nodeCount = 1;
+
+    // Node the cursor is on after each typed letter, cursor[0] is always the root
+    private int[] cursor;
+    // Letter typed at each depth, used to find the cursor again when a new word is added
+    private char[] cursorLetters;
+    // Number of letters the cursor has been advanced by
+    private int depth = 0;
+
+    public WordTrie() {
+        int capacity = 64;
+        children = new int[capacity * ALPHABET];
+        Arrays.fill(children, NONE);
+        wordCount = new int[capacity];
+        terminals = new ArrayList<>(capacity);
+        terminals.add(null);
+        freeNodes = new int[capacity];
+        cursor = new int[16];
+        cursor[0] = ROOT;
+        cursorLetters = new char[16];
+    }
+
+    /**
+     * Adds a word to the trie. Words containing anything other than
+     * the letters A-Z cannot be typed, so they are not added.
+     * @param word uppercase word to add
+     * @param value value returned when the word is matched
+     * @return true if the word was added
+     */
+    public boolean add(String word, T value) {
+        if (!isTypeable(word)) {
+            return false;
+        }
+        int node = ROOT;
+        wordCount[ROOT]++;
+        for (int i = 0; i < word.length(); i++) {
+            int slot = node * ALPHABET + (word.charAt(i) - 'A');
+            int child = children[slot];
+            if (child == NONE) {
+                child = allocateNode();
+                children[slot] = child;
+            }
+            wordCount[child]++;
+            node = child;
+        }
+        List<T> values = terminals.get(node);
+        if (values == null) {
+            values = new ArrayList<>(1);
+            terminals.set(node, values);
+        }
+        values.add(value);
+        // A word that shows up after its first letters were typed can still be hit
+        if (cursor[depth] == NONE) {
+            resolveCursor();
+        }
+        return true;
+    }
+
+    /**
+     * Removes a word that was previously added.
+     * Nodes that no longer lead to any word are freed, unless the cursor
+     * is currently sitting on them, in which case they are freed when the
+     * cursor backs out of them.
+     * @param word uppercase word to remove
+     * @param value value the word was added with
+     * @return true if the word was found and removed
+     */
+    public boolean remove(String word, T value) {
+        if (!isTypeable(word)) {
+            return false;
+        }
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NONE; i++) {
+            node = children[node * ALPHABET + (word.charAt(i) - 'A')];
+        }
+        if (node == NONE || terminals.get(node) == null || !removeValue(terminals.get(node), value)) {
+            return false;
+        }
+
+        wordCount[ROOT]--;
+        int parent = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int slot = parent * ALPHABET + (word.charAt(i) - 'A');
+            int child = children[slot];
+            wordCount[child]--;
+            // The first empty node on the path takes the rest of the path with it
+            if (wordCount[child] == 0 && !isOnCursor(child, i + 1)) {
+                children[slot] = NONE;
+                freeBranch(child);
+                break;
+            }
+            parent = child;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the cursor down by one typed letter.
+     * If the letter does not continue any word the cursor becomes dead
+     * until it is moved back with retreat or reset, or until a word
+     * starting with the typed letters is added.
+     * @param letter uppercase letter that was typed
+     */
+    public void advance(char letter) {
+        int node = cursor[depth];
+        int next = NONE;
+        if (node != NONE && letter >= 'A' && letter <= 'Z') {
+            next = children[node * ALPHABET + (letter - 'A')];
+        }
+        if (depth + 1 == cursor.length) {
+            cursor = Arrays.copyOf(cursor, cursor.length * 2);
+            cursorLetters = Arrays.copyOf(cursorLetters, cursorLetters.length * 2);
+        }
+        cursor[++depth] = next;
+        cursorLetters[depth] = letter;
+    }
+
+    /**
+     * Moves the cursor back by one letter, like a backspace.
+     * Does nothing if the cursor is already at the root.
+     */
+    public void retreat() {
+        if (depth == 0) {
+            return;
+        }
+        int node = cursor[depth--];
+        int parent = cursor[depth];
+        // The node was only kept around because the cursor was on it
+        if (node != NONE && wordCount[node] == 0 && parent != NONE) {
+            unlinkChild(parent, node);
+            freeBranch(node);
+        }
+    }
+
+    /**
+     * Moves the cursor all the way back to the root, like clearing what was typed.
+     */
+    public void reset() {
+        while (depth > 0) {
+            retreat();
+        }
+    }
+
+    /**
+     * @return true if what has been typed is not the start of any word
+     */
+    public boolean isDead() {
+        int node = cursor[depth];
+        return node == NONE || wordCount[node] == 0;
+    }
+
+    /**
+     * @return number of words that still start with what has been typed
+     */
+    public int viableCount() {
+        return isDead() ? 0 : wordCount[cursor[depth]];
+    }
+
+    /**
+     * Returns the value of a word that exactly equals what has been typed.
+     * If the same word is on the screen more than once the oldest one is returned.
+     * @return the matched value or null if there is no exact match
+     */
+    public T match() {
+        if (isDead() || depth == 0) {
+            return null;
+        }
+        List<T> values = terminals.get(cursor[depth]);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * @return number of letters the cursor has been advanced by
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return number of words in the trie
+     */
+    public int size() {
+        return wordCount[ROOT];
+    }
+
+    /**
+     * Checks that the word only has uppercase letters, which are the only keys that can be typed
+     * @param word word to check
+     * @return true if every character is between A and Z
+     */
+    private static boolean isTypeable(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a value by identity so that duplicates of the same word stay independent
+     * @param values list of values at a node
+     * @param value value to remove
+     * @return true if the value was found
+     */
+    private boolean removeValue(List<T> values, T value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == value) {
+                values.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks the typed letters from the root again so a dead cursor
+     * picks up words that were added after it died.
+     */
+    private void resolveCursor() {
+        for (int d = 1; d <= depth; d++) {
+            int parent = cursor[d - 1];
+            char letter = cursorLetters[d];
+            if (parent == NONE || letter < 'A' || letter > 'Z') {
+                cursor[d] = NONE;
+            }
+            else {
+                cursor[d] = children[parent * ALPHABET + (letter - 'A')];
+            }
+        }
+    }
+
+    /**
+     * @param node node to look for
+     * @param nodeDepth depth of the node in the trie
+     * @return true if the cursor is sitting on the node
+     */
+    private boolean isOnCursor(int node, int nodeDepth) {
+        return nodeDepth <= depth && cursor[nodeDepth] == node;
+    }
+
+    /**
+     * Clears the parent's link to the child
+     * @param parent parent node
+     * @param child child node to unlink
+     */
+    private void unlinkChild(int parent, int child) {
+        int base = parent * ALPHABET;
+        for (int i = 0; i < ALPHABET; i++) {
+            if (children[base + i] == child) {
+                children[base + i] = NONE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a node and everything below it to the free list.
+     * Only called on nodes that no longer lead to any word.
+     * @param node root of the branch to free
+     */
+    private void freeBranch(int node) {
+        int base = node * ALPHABET;
+        for (int i = 0; i < ALPHABET; i++) {
+            int child = children[base + i];
+            if (child != NONE) {
+                children[base + i] = NONE;
+                freeBranch(child);
+            }
+        }
+        wordCount[node] = 0;
+        List<T> values = terminals.get(node);
+        if (values != null) {
+            values.clear();
+        }
+        if (freeCount == freeNodes.length) {
+            freeNodes = Arrays.copyOf(freeNodes, freeNodes.length * 2);
+        }
+        freeNodes[freeCount++] = node;
+    }
+
+    /**
+     * Gets a node from the free list or creates a new one, growing the arrays if needed
+     * @return index of an empty node
+     */
+    private int allocateNode() {
+        if (freeCount > 0) {
+            return freeNodes[--freeCount];
+        }
+        if (nodeCount == wordCount.length) {
+            int capacity = wordCount.length * 2;
+            int oldLength = children.length;
+            children = Arrays.copyOf(children, capacity * ALPHABET);
+            Arrays.fill(children, oldLength, children.length, NONE);
+            wordCount = Arrays.copyOf(wordCount, capacity);
+        }
+        terminals.add(null);
+        return nodeCount++;
+    }
+}
@@ -0,0 +1,359 @@
+package keyshooter;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Corey Walker
+ * Shows a GameEngine on the screen.
+ * The engine decides which words spawn, where they go and what counts as a hit;
+ * this class passes it the time and the pressed keys and keeps the
+ * floating words, scoreLabel and typedLabel in sync with it.
+ */
+public class Words implements GameListener {
+    // Pane (https://openjfx.io/javadoc/18/javafx.graphics/javafx/scene/layout/Pane.html)
+    // which represents the floating words part of the game
+    private final Pane wordsPane;
+    // Most words that can be on the screen at once
+    private static final int MAX_LIVE_WORDS = 512;
+    // Size of the box behind each floating word
+    private static final double WORD_SIZE = 25;
+    // Spawns the background planner keeps ready
+    private static final int SPAWN_PLANS = 16;
+    // Words to play with while the dictionary loads in a fast start
+    private static final List<String> STARTER_WORDS = List.of(
+            "THE", "AND", "FOR", "ARE", "BUT", "NOT", "YOU", "ALL", "ANY", "CAN",
+            "HAD", "HER", "WAS", "ONE", "OUR", "OUT", "DAY", "GET", "HAS", "HIM",
+            "HOW", "MAN", "NEW", "NOW", "OLD", "SEE", "TWO", "WAY", "WHO", "BOY",
+            "THAT", "WITH", "HAVE", "THIS", "WILL", "YOUR", "FROM", "THEY", "KNOW", "WANT",
+            "BEEN", "GOOD", "MUCH", "SOME", "TIME", "VERY", "WHEN", "COME", "HERE", "JUST",
+            "LIKE", "LONG", "MAKE", "MANY", "MORE", "ONLY", "OVER", "SUCH", "TAKE", "THAN",
+            "THEM", "WELL", "WERE", "WORD", "WORK", "WORLD", "WATER", "SOUND", "PLACE", "THINK",
+            "GREAT", "SMALL", "LARGE", "LIGHT", "NIGHT", "HOUSE", "POINT", "PLANT", "LEARN", "SHORT");
+    // Most unused WordBoxes kept around for reuse
+    private static final int MAX_POOLED_WORDS = 64;
+    // The game itself
+    private final GameEngine engine;
+    // Reuses WordBoxes between spawns, only used when words are nodes
+    private final WordBoxPool wordBoxPool;
+    // Shows the floating words, either as nodes or on a canvas
+    private final WordRenderer renderer;
+    // Same as renderer when words are nodes, null otherwise; Timelines need the nodes
+    private final NodeWordRenderer nodeRenderer;
+    // Timeline moving the floating word in each lifecycle slot, only used with Movement.TIMELINE
+    private final Timeline[] timelines;
+    // How the words are moved
+    private final Settings.Movement movement;
+    // Rate of each word's Timeline, twice the replay speed while replaying
+    private final double timelineRate;
+    // JavaFX Label which shows the score on the screen
+    private final Label scoreLabel;
+    // JavaFX Label which shows what the user has typed since the last correct word
+    private final Label typedLabel;
+    // Score shown in the scoreLabel and whether typedLabel is out of date, see refreshLabels
+    private int shownScore = 0;
+    private boolean typedChanged = false;
+    // Typing speed, latency and mistakes for every key typed
+    private final TypingStats stats = new TypingStats();
+    // Records spawns, keys, ticks and slider changes, null when the session is not recorded
+    private SessionRecorder recorder;
+    // Time of the frame being updated, spawns are recorded with it
+    private long frameTime;
+    // False while a fast start is still loading the dictionary
+    private boolean dictionaryLoaded;
+
+    /**
+     * @param path words file to load
+     * @param width width of the floating words area
+     * @param height height of the floating words area
+     * @param scoreLabel shows the score
+     * @param typedLabel shows what has been typed
+     * @param settings options from the command line
+     * @param sprites cached images of the words, null to lay out the text of every word
+     * @throws IOException thrown when the words could not be read
+     */
+    public Words(String path, double width, double height, Label scoreLabel, Label typedLabel,
+                 Settings settings, WordSpriteCache sprites) throws IOException {
+        wordsPane = new Pane();
+        wordsPane.setPrefWidth(width);
+        wordsPane.setPrefHeight(height);
+
+        // A fast start plays the starter words until loadInBackground swaps in the dictionary
+        dictionaryLoaded = settings.getStartup() == Settings.Startup.NORMAL;
+        Dictionary words = dictionaryLoaded ? Utils.loadDictionary(path) : Dictionary.of(STARTER_WORDS);
+        if (words.size() == 0) {
+            System.err.println("No words in " + path + ", nothing will spawn");
+        }
+
+        engine = new GameEngine(words, width, height, settings.getSeed(), MAX_LIVE_WORDS);
+        engine.setListener(this);
+        if (settings.getDifficulty() >= 0) {
+            engine.getSampler().setDifficulty(settings.getDifficulty());
+        }
+        if (!dictionaryLoaded) {
+            loadInBackground(path, settings.getDifficulty());
+        }
+        // A replay sets the tolerance it was recorded with
+        if (settings.getReplayFile() == null) {
+            engine.setTolerance(settings.getTolerance());
+        }
+
+        wordBoxPool = new WordBoxPool(WORD_SIZE, MAX_POOLED_WORDS, sprites);
+        if (settings.getRenderer() == Settings.Renderer.CANVAS) {
+            nodeRenderer = null;
+            renderer = new CanvasWordRenderer(wordsPane, width, height, MAX_LIVE_WORDS, sprites);
+        }
+        else {
+            nodeRenderer = new NodeWordRenderer(wordsPane, MAX_LIVE_WORDS, wordBoxPool);
+            renderer = nodeRenderer;
+        }
+        if (settings.getReplayFile() == null) {
+            // Only the canvas uses the width, the node renderer lays out its Labels itself
+            CanvasWordRenderer canvas = renderer instanceof CanvasWordRenderer ? (CanvasWordRenderer) renderer : null;
+            engine.startSpawnPlanner(SPAWN_PLANS, canvas == null ? null : canvas::measure);
+        }
+        timelines = new Timeline[MAX_LIVE_WORDS];
+        movement = settings.getMovement();
+        timelineRate = settings.getReplayFile() == null ? 2 : 2 * settings.getReplaySpeed();
+
+        this.scoreLabel = scoreLabel;
+        this.typedLabel = typedLabel;
+    }
+
+    public Pane getWordsPane() {
+        return wordsPane;
+    }
+
+    /**
+     * getter for the game engine
+     * @return engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * getter for the pool of WordBoxes, which has the created/reused counters
+     * @return wordBoxPool
+     */
+    public WordBoxPool getWordBoxPool() {
+        return wordBoxPool;
+    }
+
+    /**
+     * getter for the typing statistics
+     * @return stats
+     */
+    public TypingStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Loads the dictionary and builds its sampler off the FX thread, then hands the
+     * sampler to the engine on the FX thread. If the words cannot be read, or there
+     * are none, the starter words are kept.
+     * @param path words file to load
+     * @param difficulty difficulty between 0 and 1, negative to pick every word equally
+     */
+    private void loadInBackground(String path, double difficulty) {
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                Dictionary words = Utils.loadDictionary(path);
+                if (words.size() == 0) {
+                    throw new IOException("No words in " + path);
+                }
+                WordSampler sampler = new WordSampler(words);
+                if (difficulty >= 0) {
+                    sampler.setDifficulty(difficulty);
+                }
+                return sampler;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((sampler, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Could not load words, keeping the starter words: " + error.getMessage());
+            }
+            else {
+                engine.setSampler(sampler);
+            }
+            dictionaryLoaded = true;
+        }));
+    }
+
+    /**
+     * @return false while a fast start is still loading the dictionary
+     */
+    public boolean isDictionaryLoaded() {
+        return dictionaryLoaded;
+    }
+
+    /**
+     * Starts recording everything that changes the engine.
+     * The typo tolerance is recorded first since it changes which words are hit.
+     * @param recorder where to record, null to stop recording
+     */
+    public void setRecorder(SessionRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder != null && engine.getTolerance() > 0) {
+            recorder.tolerance(System.nanoTime(), engine.getTolerance());
+        }
+    }
+
+    /**
+     * Sets how often a new word is spawned
+     * @param seconds seconds between spawns
+     */
+    public void setSpawnFrequency(double seconds) {
+        long nanos = (long) (seconds * 1_000_000_000L);
+        engine.setSpawnInterval(nanos);
+        if (recorder != null) {
+            recorder.spawnInterval(System.nanoTime(), nanos);
+        }
+    }
+
+    /**
+     * Called by the AnimationTimer once per frame.
+     * Moves the engine forward to the current time, which may spawn and expire words.
+     * With Movement.TIMER the renderer then draws the new positions.
+     * With Movement.TIMELINE the Timelines do the moving.
+     * @param now time of the current frame in nanoseconds
+     */
+    public void update(long now) {
+        frameTime = now;
+        engine.tick(now);
+        if (recorder != null) {
+            recorder.tick(now);
+        }
+        render();
+    }
+
+    /**
+     * Draws the new positions of the words with Movement.TIMER,
+     * does nothing with Movement.TIMELINE since the Timelines do the moving.
+     * Called by update, or directly when a replay ticks the engine.
+     */
+    public void render() {
+        if (movement == Settings.Movement.TIMER) {
+            renderer.render(engine.getMotion());
+        }
+    }
+
+    /**
+     * Called by the engine when a word spawns. Adds it to the renderer.
+     * With Movement.TIMELINE it creates a Timeline (https://openjfx.io/javadoc/18/javafx.graphics/javafx/animation/Timeline.html)
+     * that moves the WordBox along the same path as the engine,
+     * over twice the time at double speed, sped up further by the replay speed while replaying.
+     */
+    @Override
+    public void onSpawn(ActiveWord word, double startX, double startY,
+                        double endX, double endY, double seconds) {
+        renderer.add(word);
+        if (recorder != null) {
+            recorder.spawn(frameTime, word.getWord(), startX, startY, endX, endY, seconds);
+        }
+        if (movement != Settings.Movement.TIMELINE) {
+            return;
+        }
+        WordBox randomWordBox = nodeRenderer.getWordBox(word.getSlot());
+        randomWordBox.getWordBox().relocate(startX, startY);
+
+        Timeline moveWord = new Timeline();
+        moveWord.setRate(timelineRate);
+        moveWord.setAutoReverse(true);
+        moveWord.getKeyFrames().add(new KeyFrame(Duration.seconds(seconds * 2),
+                new KeyValue (randomWordBox.getWordBox().translateXProperty(), endX - startX)));
+        moveWord.getKeyFrames().add(new KeyFrame(Duration.seconds(seconds * 2),
+                new KeyValue (randomWordBox.getWordBox().translateYProperty(), endY - startY)));
+        timelines[word.getSlot()] = moveWord;
+        moveWord.play();
+    }
+
+    /**
+     * Called by the engine when a word is hit or expires.
+     * Stops its Timeline if it has one and removes it from the renderer.
+     * @param word ActiveWord being released
+     */
+    @Override
+    public void onRelease(ActiveWord word) {
+        int slot = word.getSlot();
+        if (timelines[slot] != null) {
+            timelines[slot].stop();
+            timelines[slot] = null;
+        }
+        renderer.remove(word);
+    }
+
+    /**
+     * Passes letter keys and the backspace key to the engine,
+     * which checks for a correct word. Either way it updates the labels.
+     * @param keyCode KeyCode to add to the state
+     */
+    public void addTypedLetter(KeyCode keyCode) {
+        applyKey(keyCode, System.nanoTime());
+        refreshLabels();
+    }
+
+    /**
+     * Passes letter keys and the backspace key to the engine,
+     * which checks for a correct word. The labels are left alone
+     * until refreshLabels so a frame with many keys updates them once.
+     * @param keyCode KeyCode to add to the state
+     * @param time System.nanoTime() when the key was pressed
+     */
+    public void applyKey(KeyCode keyCode, long time) {
+        if (keyCode.isLetterKey()) {
+            typeKey(keyCode.getChar().charAt(0), time);
+        }
+        else if (keyCode == KeyCode.BACK_SPACE) {
+            typeKey('\b', time);
+        }
+    }
+
+    /**
+     * Passes one key to the engine, records it and adds it to the stats.
+     * A letter is a mistake when no word on the screen starts with what has been typed.
+     * @param key uppercase letter, or '\b' for backspace
+     * @param time System.nanoTime() when the key was pressed
+     */
+    public void typeKey(char key, long time) {
+        if (recorder != null) {
+            recorder.key(time, key);
+        }
+        if (key == '\b') {
+            CharSequence typed = engine.getTyped();
+            stats.backspace(typed.length() == 0 ? 0 : typed.charAt(typed.length() - 1), time);
+            engine.backspace();
+        }
+        else {
+            boolean hit = engine.typeLetter(key) != null;
+            stats.letter(key, time, !hit && engine.getViableCount() == 0, hit);
+        }
+        typedChanged = true;
+    }
+
+    /**
+     * Updates the scoreLabel and typedLabel if they changed since the last call
+     */
+    public void refreshLabels() {
+        if (engine.getScore() != shownScore) {
+            shownScore = engine.getScore();
+            scoreLabel.setText(Integer.toString(shownScore));
+        }
+        if (typedChanged) {
+            typedChanged = false;
+            typedLabel.setText(engine.getTyped().toString());
+        }
+    }
+}
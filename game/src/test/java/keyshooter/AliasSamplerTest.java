@@ -0,0 +1,87 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Draws a lot of samples with a fixed seed and checks how often each index comes up.
+ */
+class AliasSamplerTest {
+    private static final int DRAWS = 1_000_000;
+
+    @Test
+    void indexesComeUpInProportionToTheirWeights() {
+        double[] weights = {1, 2, 3, 4, 0, 10, 0.5};
+        AliasSampler sampler = new AliasSampler(weights.length);
+        sampler.rebuild(weights);
+        assertTrue(sampler.hasWeight());
+        assertDistribution(sampler, weights, new SplittableRandom(3));
+    }
+
+    @Test
+    void rebuildReplacesTheOldWeights() {
+        AliasSampler sampler = new AliasSampler(4);
+        sampler.rebuild(new double[] {1, 1, 1, 1});
+        double[] weights = {0, 0, 5, 1};
+        sampler.rebuild(weights);
+        assertDistribution(sampler, weights, new SplittableRandom(4));
+    }
+
+    @Test
+    void oneWeightTakesEveryDraw() {
+        AliasSampler sampler = new AliasSampler(5);
+        sampler.rebuild(new double[] {0, 0, 0, 7, 0});
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(3, sampler.sample(random));
+        }
+    }
+
+    @Test
+    void noWeightDrawsNothing() {
+        AliasSampler sampler = new AliasSampler(3);
+        sampler.rebuild(new double[] {0, 0, 0});
+        assertFalse(sampler.hasWeight());
+        assertEquals(-1, sampler.sample(new SplittableRandom(6)));
+    }
+
+    @Test
+    void weightsArrayCanBeLongerThanTheSampler() {
+        AliasSampler sampler = new AliasSampler(2);
+        sampler.rebuild(new double[] {1, 3, 100});
+        assertDistribution(sampler, new double[] {1, 3}, new SplittableRandom(7));
+    }
+
+    /**
+     * Checks that each index is drawn within five standard deviations of its expected count,
+     * and that an index with no weight is never drawn
+     * @param sampler sampler already built from the weights
+     * @param weights weights the sampler was built from
+     * @param random random source
+     */
+    private static void assertDistribution(AliasSampler sampler, double[] weights, SplittableRandom random) {
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double p = weights[i] / sum;
+            if (p == 0) {
+                assertEquals(0, counts[i], "index " + i);
+                continue;
+            }
+            double expected = DRAWS * p;
+            double sigma = Math.sqrt(DRAWS * p * (1 - p));
+            assertEquals(expected, counts[i], 5 * sigma, "index " + i);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the bit-parallel distances against the textbook edit distance table.
+ */
+class FuzzyMatcherTest {
+
+    @Test
+    void distanceCountsAddedRemovedAndChangedLetters() {
+        FuzzyMatcher matcher = new FuzzyMatcher(4);
+        matcher.add(0, "HOUSE");
+        assertEquals(5, matcher.distance(0));
+        type(matcher, "HOUS");
+        assertEquals(1, matcher.distance(0));
+        type(matcher, "E");
+        assertEquals(0, matcher.distance(0));
+        type(matcher, "S");
+        assertEquals(1, matcher.distance(0));
+
+        matcher.reset();
+        type(matcher, "HOISE");
+        assertEquals(1, matcher.distance(0));
+        matcher.reset();
+        type(matcher, "OUSE");
+        assertEquals(1, matcher.distance(0));
+    }
+
+    @Test
+    void backspaceGoesBackToTheEarlierDistance() {
+        FuzzyMatcher matcher = new FuzzyMatcher(4);
+        matcher.add(1, "RIVER");
+        type(matcher, "RIX");
+        assertEquals(3, matcher.distance(1));
+        matcher.retreat();
+        assertEquals(3, matcher.distance(1));
+        type(matcher, "VER");
+        assertEquals(0, matcher.distance(1));
+    }
+
+    @Test
+    void matchPicksTheClosestAndThenTheOldest() {
+        FuzzyMatcher matcher = new FuzzyMatcher(8);
+        matcher.add(5, "NIGHT");
+        matcher.add(2, "LIGHT");
+        matcher.add(3, "TIGHT");
+        type(matcher, "XIGHT");
+        assertEquals(5, matcher.match(1));
+        assertEquals(-1, matcher.match(0));
+
+        matcher.remove(5);
+        assertEquals(-1, matcher.distance(5));
+        assertEquals(2, matcher.match(1));
+        matcher.reset();
+        assertEquals(-1, matcher.match(1));
+    }
+
+    @Test
+    void wordSpawnedWhileTypingCatchesUp() {
+        FuzzyMatcher matcher = new FuzzyMatcher(4);
+        type(matcher, "STONX");
+        matcher.add(0, "STONE");
+        assertEquals(1, matcher.distance(0));
+        assertEquals(0, matcher.match(1));
+    }
+
+    @Test
+    void unmatchableWordsAreLeftOut() {
+        FuzzyMatcher matcher = new FuzzyMatcher(4);
+        matcher.add(0, "");
+        matcher.add(1, "NO-ONE");
+        matcher.add(2, "A".repeat(65));
+        for (int slot = 0; slot < 3; slot++) {
+            assertEquals(-1, matcher.distance(slot));
+        }
+        type(matcher, "NOONE");
+        assertEquals(-1, matcher.match(10));
+    }
+
+    @Test
+    void nothingMatchesPastSixtyFourLetters() {
+        FuzzyMatcher matcher = new FuzzyMatcher(4);
+        String word = "A".repeat(64);
+        matcher.add(0, word);
+        type(matcher, word);
+        assertEquals(0, matcher.distance(0));
+        type(matcher, "A");
+        assertEquals(-1, matcher.distance(0));
+        assertEquals(-1, matcher.match(64));
+        matcher.retreat();
+        assertEquals(0, matcher.match(0));
+    }
+
+    @Test
+    void randomTypingAgreesWithTheDistanceTable() {
+        SplittableRandom random = new SplittableRandom(1);
+        int capacity = 32;
+        FuzzyMatcher matcher = new FuzzyMatcher(capacity);
+        String[] words = new String[capacity];
+        StringBuilder typed = new StringBuilder();
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 2) {
+                int slot = random.nextInt(capacity);
+                int length = 1 + random.nextInt(random.nextInt(10) == 0 ? 64 : 8);
+                words[slot] = randomLetters(random, length);
+                matcher.add(slot, words[slot]);
+            }
+            else if (action < 3) {
+                int slot = random.nextInt(capacity);
+                words[slot] = null;
+                matcher.remove(slot);
+            }
+            else if (action < 7 && typed.length() < 70) {
+                char letter = (char) ('A' + random.nextInt(4));
+                matcher.advance(letter);
+                typed.append(letter);
+            }
+            else if (action < 9 && typed.length() > 0) {
+                matcher.retreat();
+                typed.setLength(typed.length() - 1);
+            }
+            else {
+                matcher.reset();
+                typed.setLength(0);
+            }
+
+            for (int slot = 0; slot < capacity; slot++) {
+                int expected = words[slot] == null || typed.length() > 64 ? -1 : editDistance(words[slot], typed);
+                assertEquals(expected, matcher.distance(slot));
+            }
+        }
+    }
+
+    /**
+     * Types each letter of the text
+     * @param matcher matcher to type into
+     * @param text letters to type
+     */
+    private static void type(FuzzyMatcher matcher, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            matcher.advance(text.charAt(i));
+        }
+    }
+
+    /**
+     * @param random random source
+     * @param length number of letters
+     * @return letters from A to D, so words share letters often
+     */
+    private static String randomLetters(SplittableRandom random, int length) {
+        StringBuilder letters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            letters.append((char) ('A' + random.nextInt(4)));
+        }
+        return letters.toString();
+    }
+
+    /**
+     * Levenshtein distance worked out with the full table
+     * @param a first text
+     * @param b second text
+     * @return number of letters added, removed or changed to turn a into b
+     */
+    private static int editDistance(CharSequence a, CharSequence b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int change = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(change, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,190 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Drives the engine headless with a fixed seed and a clock that only moves when the test says so.
+ */
+class GameEngineTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final List<String> WORDS = List.of(
+            "CAT", "CART", "DOG", "HOUSE", "TREE", "APPLE", "RIVER", "STONE", "LIGHT", "NIGHT");
+
+    private static GameEngine engine(long seed) {
+        return new GameEngine(Dictionary.of(WORDS), 600, 450, seed, 64);
+    }
+
+    @Test
+    void firstTickSpawnsAndThenEveryInterval() {
+        GameEngine engine = engine(1);
+        engine.setSpawnInterval(SECOND);
+        engine.tick(0);
+        assertEquals(1, engine.getLifecycle().getSpawnedCount());
+        engine.tick(SECOND / 2);
+        assertEquals(1, engine.getLifecycle().getSpawnedCount());
+        engine.tick(SECOND);
+        assertEquals(2, engine.getLifecycle().getSpawnedCount());
+        assertEquals(2, engine.getLifecycle().getLiveCount());
+    }
+
+    @Test
+    void wordsMoveWithTheClockAndExpireAtTheEnd() {
+        GameEngine engine = engine(1);
+        engine.setAutoSpawn(false);
+        ActiveWord word = engine.spawn("CAT", 0, 10, 100, 10, 1);
+        engine.tick(0);
+        engine.tick(SECOND / 2);
+        assertEquals(50, engine.getMotion().getX(word.getSlot()), 1e-9);
+        assertEquals(10, engine.getMotion().getY(word.getSlot()), 1e-9);
+        assertEquals(WordState.LIVE, word.getState());
+
+        engine.tick(SECOND);
+        assertEquals(1, engine.getLifecycle().getExpiredCount());
+        assertEquals(0, engine.getLifecycle().getLiveCount());
+        assertEquals(0, engine.getMotion().getMovingCount());
+        assertEquals(0, engine.getScore());
+    }
+
+    @Test
+    void typingAWordHitsItAndScores() {
+        GameEngine engine = engine(1);
+        engine.setAutoSpawn(false);
+        ActiveWord cat = engine.spawn("CAT", 0, 0, 100, 0, 5);
+        engine.spawn("DOG", 0, 30, 100, 30, 5);
+        engine.tick(0);
+
+        assertNull(engine.typeLetter('C'));
+        assertNull(engine.typeLetter('A'));
+        assertEquals(1, engine.getViableCount());
+        assertEquals("CA", engine.getTyped().toString());
+        assertSame(cat, engine.typeLetter('T'));
+
+        assertEquals(1, engine.getScore());
+        assertEquals("", engine.getTyped().toString());
+        assertEquals(1, engine.getLifecycle().getHitCount());
+        assertEquals(1, engine.getLifecycle().getLiveCount());
+        assertEquals(1, engine.getMotion().getMovingCount());
+    }
+
+    @Test
+    void backspaceTakesBackAMistake() {
+        GameEngine engine = engine(1);
+        engine.setAutoSpawn(false);
+        ActiveWord dog = engine.spawn("DOG", 0, 0, 100, 0, 5);
+        engine.tick(0);
+
+        engine.typeLetter('D');
+        engine.typeLetter('X');
+        assertEquals(0, engine.getViableCount());
+        engine.backspace();
+        assertEquals(1, engine.getViableCount());
+        engine.typeLetter('O');
+        assertSame(dog, engine.typeLetter('G'));
+        assertEquals(1, engine.getScore());
+    }
+
+    @Test
+    void exactMatchOnAShorterWordWins() {
+        GameEngine engine = engine(1);
+        engine.setAutoSpawn(false);
+        ActiveWord cat = engine.spawn("CAT", 0, 0, 100, 0, 5);
+        ActiveWord cart = engine.spawn("CART", 0, 30, 100, 30, 5);
+        engine.tick(0);
+
+        engine.typeLetter('C');
+        engine.typeLetter('A');
+        assertEquals(2, engine.getViableCount());
+        assertSame(cat, engine.typeLetter('T'));
+        assertEquals(WordState.LIVE, cart.getState());
+    }
+
+    @Test
+    void fuzzyToleranceHitsAWordWithATypo() {
+        GameEngine engine = engine(1);
+        engine.setAutoSpawn(false);
+        engine.setTolerance(1);
+        ActiveWord house = engine.spawn("HOUSE", 0, 0, 100, 0, 5);
+        engine.tick(0);
+
+        for (char letter : "HOUS".toCharArray()) {
+            assertNull(engine.typeLetter(letter));
+        }
+        assertSame(house, engine.typeLetter('X'));
+        assertEquals(1, engine.getScore());
+    }
+
+    @Test
+    void emptyDictionarySpawnsNothing() {
+        GameEngine engine = new GameEngine(Dictionary.of(List.of()), 600, 450, 1, 64);
+        engine.setSpawnInterval(SECOND / 10);
+        for (long time = 0; time < SECOND; time += SECOND / 60) {
+            engine.tick(time);
+        }
+        assertNull(engine.spawnWord());
+        engine.startSpawnPlanner(4, null);
+        assertNull(engine.spawnWord());
+        engine.stopSpawnPlanner();
+        assertEquals(0, engine.getLifecycle().getSpawnedCount());
+    }
+
+    @Test
+    void sameSeedGivesTheSameSpawns() {
+        List<String> first = play(42);
+        assertEquals(first, play(42));
+        assertNotEquals(first, play(43));
+    }
+
+    @Test
+    void sameSeedGivesTheSameSpawnsFromThePlanner() {
+        // One plan at a time, so most spawns have to wait for the planner
+        List<String> first = play(42, 1);
+        assertEquals(first, play(42, 1));
+        assertEquals(first, play(42, 16));
+        assertNotEquals(first, play(43, 16));
+    }
+
+    /**
+     * Ticks an engine at 60 frames a second for ten seconds, spawning every 0.1 seconds
+     * @param seed engine seed
+     * @return every spawn as its word and path
+     */
+    private static List<String> play(long seed) {
+        return play(seed, 0);
+    }
+
+    /**
+     * Ticks an engine at 60 frames a second for ten seconds, spawning every 0.1 seconds
+     * @param seed engine seed
+     * @param plans number of spawns the planner keeps ready, 0 to not start it
+     * @return every spawn as its word and path
+     */
+    private static List<String> play(long seed, int plans) {
+        GameEngine engine = engine(seed);
+        if (plans > 0) {
+            engine.startSpawnPlanner(plans, null);
+        }
+        engine.setSpawnInterval(SECOND / 10);
+        List<String> spawns = new ArrayList<>();
+        engine.setListener(new GameListener() {
+            @Override
+            public void onSpawn(ActiveWord word, double startX, double startY,
+                                double endX, double endY, double seconds) {
+                spawns.add(word.getWord() + " " + startX + "," + startY + " -> " + endX + "," + endY);
+            }
+        });
+        for (long time = 0; time < 10 * SECOND; time += SECOND / 60) {
+            engine.tick(time);
+        }
+        engine.stopSpawnPlanner();
+        assertEquals(spawns.size(), engine.getLifecycle().getSpawnedCount());
+        return spawns;
+    }
+}
@@ -0,0 +1,112 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks percentiles against the sorted values and that adding histograms keeps every count.
+ */
+class HistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        Histogram histogram = new Histogram("empty");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new Histogram("small");
+        for (int value = 1; value <= 60; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+        assertEquals(61, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(30, histogram.getPercentile(50));
+        assertEquals(60, histogram.getPercentile(100));
+        assertEquals(60, histogram.getMax());
+        assertEquals(1830.0 / 61, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void percentilesStayWithinTheBucketError() {
+        SplittableRandom random = new SplittableRandom(9);
+        Histogram histogram = new Histogram("latency");
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Spread over many powers of two, from nanoseconds to seconds
+            values[i] = (long) Math.pow(2, random.nextDouble(0, 34));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] {1, 10, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(reported >= exact, percentile + ": " + reported + " < " + exact);
+            assertTrue(reported <= exact + exact / 32 + 1, percentile + ": " + reported + " > " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void valuesPastTheLastBucketAreCappedAtTheMax() {
+        Histogram histogram = new Histogram("huge");
+        histogram.record(1L << 45);
+        histogram.record(Long.MAX_VALUE / 2);
+        assertEquals(Long.MAX_VALUE / 2, histogram.getPercentile(50));
+        assertEquals(Long.MAX_VALUE / 2, histogram.getMax());
+    }
+
+    @Test
+    void addKeepsEveryValueOfBoth() {
+        Histogram low = new Histogram("low");
+        Histogram high = new Histogram("high");
+        Histogram both = new Histogram("both");
+        for (long value = 0; value < 1000; value++) {
+            low.record(value);
+            both.record(value);
+            high.record(value * 1000);
+            both.record(value * 1000);
+        }
+
+        Histogram merged = new Histogram("merged");
+        merged.add(low);
+        merged.add(high);
+        assertEquals(both.getCount(), merged.getCount());
+        assertEquals(both.getMax(), merged.getMax());
+        assertEquals(both.getMean(), merged.getMean(), 1e-9);
+        for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+            assertEquals(both.getPercentile(percentile), merged.getPercentile(percentile));
+        }
+        StringBuilder expected = new StringBuilder();
+        StringBuilder actual = new StringBuilder();
+        both.appendJson(expected);
+        merged.appendJson(actual);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(2000, low.getCount() + high.getCount());
+    }
+
+    @Test
+    void csvEndsAtOneHundredPercent() {
+        Histogram histogram = new Histogram("csv");
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(1000);
+        StringBuilder out = new StringBuilder();
+        histogram.appendCsv(out);
+        String[] rows = out.toString().split("\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].startsWith("csv,3,3,2,"));
+        assertTrue(rows[1].endsWith(",1,100.0"));
+    }
+}
@@ -0,0 +1,77 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compiles word files and reads them back through the mapped file.
+ */
+class MappedDictionaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void asciiWordsReadTheSameAsTheirStrings() throws IOException {
+        assertReadsBack(List.of("APPLE", "RIVER", "A", "STONE", "QUIZ"));
+    }
+
+    @Test
+    void otherWordsAreDecodedFromUtf8() throws IOException {
+        assertReadsBack(List.of("CAFÉ", "NAÏVE", "ÅNGSTRÖM", "€URO", "😀SMILE", "PLAIN"));
+    }
+
+    @Test
+    void samplerIndexesTheMappedWordsLikeTheList() throws IOException {
+        List<String> words = List.of("CAT", "QUIZ", "JAZZ", "TREE", "HOUSE", "ELEPHANT", "NAÏVE", "SEE", "ZYXW");
+        WordSampler fromList = new WordSampler(Dictionary.of(words));
+        WordSampler fromFile = new WordSampler(compile(words));
+        for (int length = 1; length <= WordSampler.MAX_LENGTH; length++) {
+            for (int tier = 0; tier < WordSampler.TIERS; tier++) {
+                assertEquals(fromList.getBucketSize(length, tier), fromFile.getBucketSize(length, tier));
+            }
+        }
+        SplittableRandom listRandom = new SplittableRandom(5);
+        SplittableRandom fileRandom = new SplittableRandom(5);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(fromList.sample(listRandom), fromFile.sample(fileRandom));
+        }
+    }
+
+    /**
+     * Checks that get and forEachChar both give back every word
+     * @param words uppercase words to compile
+     * @throws IOException thrown when the files cannot be written
+     */
+    private void assertReadsBack(List<String> words) throws IOException {
+        Dictionary dictionary = compile(words);
+        assertEquals(words.size(), dictionary.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(words.get(i), dictionary.get(i));
+            StringBuilder chars = new StringBuilder();
+            dictionary.forEachChar(i, c -> chars.append((char) c));
+            assertEquals(words.get(i), chars.toString());
+        }
+    }
+
+    /**
+     * @param words uppercase words, one per line
+     * @return the words compiled and mapped
+     * @throws IOException thrown when the files cannot be written
+     */
+    private Dictionary compile(List<String> words) throws IOException {
+        Path text = directory.resolve("words.txt");
+        Path compiled = directory.resolve("words.dict");
+        Files.write(text, words);
+        DictionaryCompiler.compile(text, compiled);
+        return MappedDictionary.open(compiled);
+    }
+}
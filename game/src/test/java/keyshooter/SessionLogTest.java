@@ -0,0 +1,182 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Writes logs with SessionRecorder and reads them back with SessionReplay.
+ */
+class SessionLogTest {
+    private static final long START = 1_000_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyRecordComesBackTheSame() throws IOException {
+        Path log = directory.resolve("session.ksr");
+        GameEngine engine = new GameEngine(Dictionary.of(List.of("CAT")), 640, 480, -42, 32);
+        SessionRecorder recorder = new SessionRecorder(log, engine, START);
+        List<String> written = record(recorder);
+        recorder.close();
+        assertEquals(0, recorder.getDroppedCount());
+
+        SessionReplay replay = SessionReplay.open(log);
+        assertEquals(-42, replay.getSeed());
+        assertEquals(640, replay.getWidth());
+        assertEquals(480, replay.getHeight());
+        assertEquals(32, replay.getCapacity());
+        assertEquals(START, replay.getStartTime());
+        List<String> read = new ArrayList<>();
+        assertEquals(written.size(), replay.replayUntil(Long.MAX_VALUE, collect(read)));
+        assertEquals(written, read);
+        assertFalse(replay.hasNext());
+    }
+
+    @Test
+    void replayStopsAtTheTimeAndCarriesOn() throws IOException {
+        Path log = directory.resolve("session.ksr");
+        SessionRecorder recorder = new SessionRecorder(log, engine(), START);
+        for (int i = 0; i < 10; i++) {
+            recorder.tick(START + i * 100);
+        }
+        recorder.close();
+
+        SessionReplay replay = SessionReplay.open(log);
+        List<String> read = new ArrayList<>();
+        assertEquals(5, replay.replayUntil(START + 400, collect(read)));
+        assertEquals("tick " + (START + 400), read.get(4));
+        assertEquals(5, replay.replayUntil(Long.MAX_VALUE, collect(read)));
+        assertEquals("tick " + (START + 900), read.get(9));
+    }
+
+    @Test
+    void cutOffRecordEndsTheReplay() throws IOException {
+        Path log = directory.resolve("session.ksr");
+        SessionRecorder recorder = new SessionRecorder(log, engine(), START);
+        List<String> written = record(recorder);
+        recorder.close();
+
+        // Lose the last bytes of the final spawn, like a game killed while writing
+        Path cut = directory.resolve("cut.ksr");
+        byte[] bytes = Files.readAllBytes(log);
+        Files.write(cut, Arrays.copyOf(bytes, bytes.length - 5));
+        List<String> read = new ArrayList<>();
+        SessionReplay replay = SessionReplay.open(cut);
+        assertEquals(written.size() - 1, replay.replayUntil(Long.MAX_VALUE, collect(read)));
+        assertEquals(written.subList(0, written.size() - 1), read);
+        assertFalse(replay.hasNext());
+    }
+
+    @Test
+    void replayIntoAnEngineScoresTheSame() throws IOException {
+        Path log = directory.resolve("session.ksr");
+        SessionRecorder recorder = new SessionRecorder(log, engine(), START);
+        recorder.spawn(START, "CAT", 0, 0, 100, 0, 5);
+        recorder.tick(START);
+        recorder.key(START + 10, 'C');
+        recorder.key(START + 20, 'X');
+        recorder.key(START + 30, '\b');
+        recorder.key(START + 40, 'A');
+        recorder.key(START + 50, 'T');
+        recorder.tick(START + 60);
+        recorder.close();
+
+        GameEngine engine = engine();
+        engine.setAutoSpawn(false);
+        SessionReplay.open(log).replayUntil(Long.MAX_VALUE, SessionReplay.into(engine));
+        assertEquals(1, engine.getScore());
+        assertEquals(1, engine.getLifecycle().getHitCount());
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path other = directory.resolve("other.ksr");
+        Files.write(other, new byte[SessionRecorder.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> SessionReplay.open(other));
+        Files.write(other, new byte[] {0x4B, 0x53});
+        assertThrows(IOException.class, () -> SessionReplay.open(other));
+    }
+
+    /**
+     * @return small engine to record
+     */
+    private static GameEngine engine() {
+        return new GameEngine(Dictionary.of(List.of("CAT")), 600, 450, 1, 16);
+    }
+
+    /**
+     * Records one of each kind of record, with times that stay the same, go back,
+     * and jump far enough to need long varints, ending with a spawn
+     * @param recorder recorder to write to
+     * @return what the collecting handler should read back
+     */
+    private static List<String> record(SessionRecorder recorder) {
+        List<String> written = new ArrayList<>();
+        recorder.tolerance(START, 2);
+        written.add("tolerance " + START + " 2");
+        recorder.spawnInterval(START, 750_000_000L);
+        written.add("interval " + START + " 750000000");
+        recorder.spawn(START + 5, "HOUSE", 1.5, -2.25, 600, 449.75, 3.5);
+        written.add("spawn " + (START + 5) + " HOUSE 1.5 -2.25 600.0 449.75 3.5");
+        recorder.tick(START + 5);
+        written.add("tick " + (START + 5));
+        // Key times come from the key event and can be a little before the last tick
+        recorder.key(START + 2, 'H');
+        written.add("key " + (START + 2) + " H");
+        recorder.key(START + 2, '\b');
+        written.add("key " + (START + 2) + " \b");
+        long later = START + 3_600_000_000_000L;
+        recorder.tick(later);
+        written.add("tick " + later);
+        recorder.spawn(later, "CAFÉ", 0, 0, 0, 0, 0);
+        written.add("spawn " + later + " CAFÉ 0.0 0.0 0.0 0.0 0.0");
+        return written;
+    }
+
+    /**
+     * @param read list each record is added to as text
+     * @return handler that writes each record the same way record does
+     */
+    private static SessionReplay.Handler collect(List<String> read) {
+        return new SessionReplay.Handler() {
+            @Override
+            public void onTick(long time) {
+                read.add("tick " + time);
+            }
+
+            @Override
+            public void onKey(long time, char key) {
+                read.add("key " + time + " " + key);
+            }
+
+            @Override
+            public void onSpawn(long time, String word, double startX, double startY,
+                                double endX, double endY, double seconds) {
+                read.add("spawn " + time + " " + word + " " + startX + " " + startY + " "
+                        + endX + " " + endY + " " + seconds);
+            }
+
+            @Override
+            public void onSpawnInterval(long time, long nanos) {
+                read.add("interval " + time + " " + nanos);
+            }
+
+            @Override
+            public void onTolerance(long time, int tolerance) {
+                read.add("tolerance " + time + " " + tolerance);
+            }
+        };
+    }
+}
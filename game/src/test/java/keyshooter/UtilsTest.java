@@ -0,0 +1,44 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reads word files with stray spaces and blank lines.
+ */
+class UtilsTest {
+    private static final String WORDS = "apple\n  river \n\n\t\nstone\r\n   \nlight";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readWordsTrimsAndSkipsBlankLines() throws IOException {
+        Path text = directory.resolve("words.txt");
+        Files.writeString(text, WORDS);
+        assertEquals(List.of("apple", "river", "stone", "light"), Utils.readWords(text.toString()));
+    }
+
+    @Test
+    void loadedDictionaryMatchesTheCompiledOne() throws IOException {
+        Path text = directory.resolve("words.txt");
+        Files.writeString(text, WORDS);
+        Dictionary loaded = Utils.loadDictionary(text.toString());
+        assertEquals(4, loaded.size());
+        assertEquals("RIVER", loaded.get(1));
+
+        DictionaryCompiler.compile(text, DictionaryCompiler.compiledPathFor(text));
+        Dictionary compiled = Utils.loadDictionary(text.toString());
+        assertEquals(loaded.size(), compiled.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i), compiled.get(i));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Spawns, hits and expires words and checks the live list and which word a full screen drops.
+ */
+class WordLifecycleTest {
+
+    @Test
+    void fullScreenExpiresTheOldestWordAfterOthersWereHit() {
+        List<ActiveWord> released = new ArrayList<>();
+        WordLifecycle lifecycle = new WordLifecycle(4, released::add);
+        ActiveWord[] words = new ActiveWord[4];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = live(lifecycle, "W" + i);
+        }
+        assertSame(words[0], lifecycle.getOldest());
+
+        // Hitting the oldest moves the newest into its place in the live list
+        assertTrue(lifecycle.hit(words[0]));
+        assertSame(words[1], lifecycle.getOldest());
+        assertEquals(3, lifecycle.getLiveCount());
+        live(lifecycle, "W4");
+
+        // Slots are reused, so the word that was dropped is the one spawned into
+        assertSame(words[1], live(lifecycle, "W5"));
+        assertEquals(List.of(words[0], words[1]), released);
+        assertEquals(1, lifecycle.getExpiredCount());
+        assertSame(words[2], lifecycle.getOldest());
+        assertEquals(Set.of("W2", "W3", "W4", "W5"), wordsOf(lifecycle.getLive()));
+    }
+
+    @Test
+    void wordsThatAreNotLiveCannotBeReleased() {
+        WordLifecycle lifecycle = new WordLifecycle(2, word -> { });
+        ActiveWord spawned = lifecycle.spawn("CAT");
+        assertFalse(lifecycle.hit(spawned));
+        assertFalse(lifecycle.expire(spawned));
+        assertNull(lifecycle.getOldest());
+        lifecycle.goLive(spawned);
+        assertTrue(lifecycle.expire(spawned));
+        assertFalse(lifecycle.hit(spawned));
+        assertEquals(0, lifecycle.getLiveCount());
+    }
+
+    @Test
+    void randomHitsAndSpawnsKeepTheLiveListWhole() {
+        SplittableRandom random = new SplittableRandom(11);
+        int capacity = 16;
+        WordLifecycle lifecycle = new WordLifecycle(capacity, word -> { });
+        // Words in the order they were spawned, so the first is the oldest
+        List<String> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (random.nextInt(3) > 0 || expected.isEmpty()) {
+                if (expected.size() == capacity) {
+                    // Spawning on a full screen drops the oldest word
+                    expected.remove(0);
+                }
+                expected.add(live(lifecycle, "W" + step).getWord());
+            }
+            else {
+                String word = expected.remove(random.nextInt(expected.size()));
+                ActiveWord activeWord = find(lifecycle, word);
+                assertTrue(random.nextBoolean() ? lifecycle.hit(activeWord) : lifecycle.expire(activeWord));
+            }
+            assertEquals(expected.size(), lifecycle.getLiveCount());
+            assertEquals(new HashSet<>(expected), wordsOf(lifecycle.getLive()));
+            if (expected.isEmpty()) {
+                assertNull(lifecycle.getOldest());
+            }
+            else {
+                assertEquals(expected.get(0), lifecycle.getOldest().getWord());
+            }
+        }
+    }
+
+    /**
+     * @param lifecycle lifecycle to look in
+     * @param word word to find
+     * @return the live word
+     */
+    private static ActiveWord find(WordLifecycle lifecycle, String word) {
+        for (ActiveWord activeWord : lifecycle.getLive()) {
+            if (activeWord.getWord().equals(word)) {
+                return activeWord;
+            }
+        }
+        throw new AssertionError(word + " is not live");
+    }
+
+    /**
+     * @param live live words
+     * @return their words
+     */
+    private static Set<String> wordsOf(List<ActiveWord> live) {
+        Set<String> words = new HashSet<>();
+        for (ActiveWord word : live) {
+            words.add(word.getWord());
+        }
+        return words;
+    }
+
+    /**
+     * @param lifecycle lifecycle to spawn in
+     * @param word word to spawn
+     * @return the word, already live
+     */
+    private static ActiveWord live(WordLifecycle lifecycle, String word) {
+        ActiveWord activeWord = lifecycle.spawn(word);
+        lifecycle.goLive(activeWord);
+        return activeWord;
+    }
+}
@@ -0,0 +1,191 @@
+package keyshooter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the typed cursor of the trie against what a plain list of words would say.
+ */
+class WordTrieTest {
+
+    @Test
+    void cursorFollowsTheTypedLetters() {
+        WordTrie<String> trie = new WordTrie<>();
+        trie.add("CAT", "cat");
+        trie.add("CART", "cart");
+        trie.add("DOG", "dog");
+        assertEquals(3, trie.viableCount());
+
+        trie.advance('C');
+        assertEquals(2, trie.viableCount());
+        trie.advance('A');
+        assertEquals(2, trie.viableCount());
+        assertNull(trie.match());
+        trie.advance('T');
+        assertEquals(1, trie.viableCount());
+        assertEquals("cat", trie.match());
+        assertEquals(3, trie.getDepth());
+    }
+
+    @Test
+    void backspaceRevivesADeadCursor() {
+        WordTrie<String> trie = new WordTrie<>();
+        trie.add("DOG", "dog");
+        trie.advance('D');
+        trie.advance('X');
+        assertTrue(trie.isDead());
+        assertEquals(0, trie.viableCount());
+        trie.advance('O');
+        assertTrue(trie.isDead());
+
+        trie.retreat();
+        trie.retreat();
+        assertFalse(trie.isDead());
+        assertEquals(1, trie.viableCount());
+        trie.advance('O');
+        trie.advance('G');
+        assertEquals("dog", trie.match());
+
+        trie.reset();
+        assertEquals(0, trie.getDepth());
+        trie.retreat();
+        assertEquals(0, trie.getDepth());
+    }
+
+    @Test
+    void duplicatesMatchTheOldestFirst() {
+        WordTrie<String> trie = new WordTrie<>();
+        String first = new String("first");
+        String second = new String("second");
+        trie.add("TREE", first);
+        trie.add("TREE", second);
+        for (char letter : "TREE".toCharArray()) {
+            trie.advance(letter);
+        }
+        assertEquals(2, trie.viableCount());
+        assertSame(first, trie.match());
+        assertTrue(trie.remove("TREE", first));
+        assertSame(second, trie.match());
+        assertFalse(trie.remove("TREE", first));
+    }
+
+    @Test
+    void wordAddedAfterItsLettersWereTypedCanBeHit() {
+        WordTrie<String> trie = new WordTrie<>();
+        trie.add("CAT", "cat");
+        trie.advance('S');
+        trie.advance('T');
+        assertTrue(trie.isDead());
+
+        trie.add("STONE", "stone");
+        assertFalse(trie.isDead());
+        assertEquals(1, trie.viableCount());
+        for (char letter : "ONE".toCharArray()) {
+            trie.advance(letter);
+        }
+        assertEquals("stone", trie.match());
+    }
+
+    @Test
+    void wordRemovedUnderTheCursorIsFreedOnBackspace() {
+        WordTrie<String> trie = new WordTrie<>();
+        trie.add("LIGHT", "light");
+        trie.advance('L');
+        trie.advance('I');
+        assertTrue(trie.remove("LIGHT", "light"));
+        assertTrue(trie.isDead());
+        assertEquals(0, trie.size());
+
+        trie.reset();
+        trie.add("LIME", "lime");
+        trie.advance('L');
+        trie.advance('I');
+        assertEquals(1, trie.viableCount());
+        trie.advance('G');
+        assertTrue(trie.isDead());
+    }
+
+    @Test
+    void untypeableWordsAreLeftOut() {
+        WordTrie<String> trie = new WordTrie<>();
+        assertFalse(trie.add("", "empty"));
+        assertFalse(trie.add("Cat", "lower"));
+        assertFalse(trie.add("NO-ONE", "dash"));
+        assertFalse(trie.remove("Cat", "lower"));
+        assertEquals(0, trie.size());
+        trie.advance('1');
+        assertTrue(trie.isDead());
+    }
+
+    @Test
+    void randomAddsRemovesAndKeysAgreeWithAList() {
+        SplittableRandom random = new SplittableRandom(7);
+        WordTrie<String> trie = new WordTrie<>();
+        List<String> live = new ArrayList<>();
+        StringBuilder typed = new StringBuilder();
+        for (int step = 0; step < 50_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 3 && live.size() < 40) {
+                String word = randomWord(random);
+                String value = new String(word);
+                assertTrue(trie.add(word, value));
+                live.add(value);
+            }
+            else if (action < 5 && !live.isEmpty()) {
+                String value = live.remove(random.nextInt(live.size()));
+                assertTrue(trie.remove(value, value));
+            }
+            else if (action < 8 && typed.length() < 8) {
+                char letter = (char) ('A' + random.nextInt(4));
+                trie.advance(letter);
+                typed.append(letter);
+            }
+            else if (action < 9 && typed.length() > 0) {
+                trie.retreat();
+                typed.setLength(typed.length() - 1);
+            }
+            else {
+                trie.reset();
+                typed.setLength(0);
+            }
+
+            int viable = 0;
+            String match = null;
+            for (String value : live) {
+                if (value.startsWith(typed.toString())) {
+                    viable++;
+                    if (match == null && typed.length() > 0 && value.contentEquals(typed)) {
+                        match = value;
+                    }
+                }
+            }
+            assertEquals(live.size(), trie.size());
+            assertEquals(viable, trie.viableCount());
+            assertEquals(viable == 0, trie.isDead());
+            assertSame(match, trie.match());
+            assertEquals(typed.length(), trie.getDepth());
+        }
+    }
+
+    /**
+     * @param random random source
+     * @return a short word from a small alphabet, so words share prefixes and repeat
+     */
+    private static String randomWord(SplittableRandom random) {
+        int length = 1 + random.nextInt(5);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('A' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
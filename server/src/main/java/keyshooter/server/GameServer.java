@@ -0,0 +1,214 @@
+package keyshooter.server;
+
+import keyshooter.Dictionary;
+import keyshooter.Histogram;
+import keyshooter.Utils;
+import keyshooter.WordSampler;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Corey Walker
+ * Hosts many independent games at once over a line based TCP protocol on localhost,
+ * see ServerSession for the protocol. Every connection gets its own ServerSession
+ * on a virtual thread, so thousands of players cost thousands of small stacks
+ * instead of thousands of OS threads. All sessions pick words from one shared,
+ * read-only dictionary and sampler.
+ * Every few seconds the server prints how many sessions it has, how many cores
+ * it is using and how late the session ticks are running.
+ * Usage: GameServer [--port=7777] [--words=./docs/words.txt] [--seed=1] [--report=5]
+ */
+public class GameServer implements AutoCloseable {
+    private final WordSampler sampler;
+    private final ServerSocket serverSocket;
+    // Seed of session 0, every session gets seed + its id
+    private final long seed;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    // How long after it was due each session tick ran, grows when the server runs out of CPU
+    private final Histogram tickLateness = new Histogram("tick_lateness_ns");
+    private final com.sun.management.OperatingSystemMXBean os;
+    // Values at the last report, used to work out rates
+    private long lastReport;
+    private long lastCpuTime;
+    private long lastCommands;
+    private long lastEvents;
+    private volatile boolean closed = false;
+
+    /**
+     * Opens the server socket on the loopback address. Call start to accept players.
+     * @param words uppercase words shared by every session
+     * @param port port to listen on, 0 to pick a free one
+     * @param seed seed of the first session
+     * @throws IOException thrown when the port cannot be opened
+     */
+    public GameServer(Dictionary words, int port, long seed) throws IOException {
+        sampler = new WordSampler(words);
+        this.seed = seed;
+        serverSocket = new ServerSocket(port, 4096, InetAddress.getLoopbackAddress());
+        os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        lastReport = System.nanoTime();
+        lastCpuTime = os.getProcessCpuTime();
+    }
+
+    /**
+     * Starts accepting players on a virtual thread
+     */
+    public void start() {
+        Thread.ofVirtual().name("accept").start(this::acceptLoop);
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a session for each
+     */
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                int id = nextId.getAndIncrement();
+                activeSessions.incrementAndGet();
+                Thread.ofVirtual().name("session-" + id)
+                        .start(new ServerSession(this, socket, id, sampler, seed + id));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Could not accept: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return port the server is listening on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return number of sessions currently connected
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * @return histogram of how late session ticks ran
+     */
+    public Histogram getTickLateness() {
+        return tickLateness;
+    }
+
+    /**
+     * Called by a session when its client disconnects
+     */
+    void sessionEnded() {
+        activeSessions.decrementAndGet();
+    }
+
+    /**
+     * Called by a session for every command from its client
+     */
+    void commandReceived() {
+        commands.increment();
+    }
+
+    /**
+     * Called by a session for every line sent to its client
+     */
+    void eventSent() {
+        events.increment();
+    }
+
+    /**
+     * Called by a session every tick
+     * @param nanos how long after it was due the tick ran
+     */
+    void tickLate(long nanos) {
+        tickLateness.record(nanos);
+    }
+
+    /**
+     * Describes the load since the last call: sessions, command and event rates,
+     * cores in use and how many sessions each core is carrying
+     * @return one line report
+     */
+    public String report() {
+        long now = System.nanoTime();
+        long cpuTime = os.getProcessCpuTime();
+        long commandCount = commands.sum();
+        long eventCount = events.sum();
+        double seconds = Math.max(1e-9, (now - lastReport) / 1_000_000_000.0);
+        double cores = (cpuTime - lastCpuTime) / 1_000_000_000.0 / seconds;
+        int active = activeSessions.get();
+        Runtime runtime = Runtime.getRuntime();
+        String line = String.format("sessions %d  commands %.0f/s  events %.0f/s  cores %.2f  sessions/core %.0f  "
+                        + "tick late p50 %.1f ms p99 %.1f ms  heap %d MB",
+                active, (commandCount - lastCommands) / seconds, (eventCount - lastEvents) / seconds,
+                cores, cores > 0 ? active / cores : 0,
+                tickLateness.getPercentile(50) / 1_000_000.0, tickLateness.getPercentile(99) / 1_000_000.0,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        lastReport = now;
+        lastCpuTime = cpuTime;
+        lastCommands = commandCount;
+        lastEvents = eventCount;
+        return line;
+    }
+
+    /**
+     * Stops accepting players, sessions already running end when their clients disconnect
+     * @throws IOException thrown when the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+    }
+
+    /**
+     * Reads --name=value arguments
+     * @param args command line arguments
+     * @return value of each argument by name, arguments without a value map to "true"
+     */
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            }
+            else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = options(args);
+        Dictionary words = Utils.loadDictionary(options.getOrDefault("words", "./docs/words.txt"));
+        int port = Integer.parseInt(options.getOrDefault("port", "7777"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        long reportMillis = (long) (Double.parseDouble(options.getOrDefault("report", "5")) * 1000);
+
+        GameServer server = new GameServer(words, port, seed);
+        server.start();
+        System.out.println("Serving " + words.size() + " words on port " + server.getPort());
+        while (true) {
+            Thread.sleep(reportMillis);
+            System.out.println(server.report());
+        }
+    }
+}
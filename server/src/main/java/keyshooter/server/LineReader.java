@@ -0,0 +1,91 @@
+package keyshooter.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Corey Walker
+ * Reads ASCII lines from a socket. Unlike BufferedReader, a read that times out
+ * keeps whatever part of a line has already arrived, so a session can wait for
+ * input with a socket timeout and tick its game in between.
+ */
+public class LineReader {
+    // Longest line accepted, longer lines are skipped up to their line ending
+    private static final int MAX_LINE = 256;
+    // Returned in place of a line longer than MAX_LINE, no real line has a line ending in it
+    public static final String TOO_LONG = "\n";
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[MAX_LINE];
+    // Bytes in the buffer and how many of them have been handed out
+    private int length = 0;
+    private int start = 0;
+    // Set while skipping the rest of a line that did not fit in the buffer
+    private boolean discarding = false;
+
+    /**
+     * @param in stream to read from
+     */
+    public LineReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next line without its line ending. A line longer than MAX_LINE is
+     * read to its end and thrown away, and TOO_LONG is returned once in its place.
+     * @return the line, TOO_LONG, or null at the end of the stream
+     * @throws SocketTimeoutException thrown when the socket timeout passes first, nothing is lost
+     * @throws IOException thrown when the stream cannot be read
+     */
+    public String readLine() throws IOException {
+        while (true) {
+            for (int i = start; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    if (discarding) {
+                        discarding = false;
+                        start = i + 1;
+                        return TOO_LONG;
+                    }
+                    int end = i > start && buffer[i - 1] == '\r' ? i - 1 : i;
+                    String line = new String(buffer, start, end - start, StandardCharsets.US_ASCII);
+                    start = i + 1;
+                    return line;
+                }
+            }
+            // Move the partial line to the front, or drop what has arrived of it and skip
+            // the rest if it fills the whole buffer
+            if (discarding) {
+                length = 0;
+                start = 0;
+            }
+            else if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, length - start);
+                length -= start;
+                start = 0;
+            }
+            else if (length == buffer.length) {
+                length = 0;
+                discarding = true;
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return null;
+            }
+            length += read;
+        }
+    }
+
+    /**
+     * @return true if a whole line is already buffered and readLine will not block
+     */
+    public boolean hasLine() {
+        for (int i = start; i < length; i++) {
+            if (buffer[i] == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,246 @@
+package keyshooter.server;
+
+import keyshooter.Dictionary;
+import keyshooter.Histogram;
+import keyshooter.Utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Corey Walker
+ * Puts load on a GameServer with many bot players, one virtual thread each.
+ * Every bot picks a word on its screen and types it one letter at a time at a
+ * steady rate, deleting what it typed if the word expires first. The time from
+ * sending a command to getting its reply is recorded as the event latency.
+ * Replies come back in order, so a bot never has more commands in flight than it
+ * can time: when MAX_PENDING are waiting it holds back until a reply comes, and
+ * counts each key it had to hold back.
+ * With --embedded the server runs in the same JVM and its report, including
+ * cores used and sessions per core, is printed every 5 seconds; those numbers then
+ * include the bots' own CPU.
+ * Usage: LoadClient [--sessions=1000] [--seconds=30] [--cps=5] [--port=7777] [--host=localhost]
+ *                   [--embedded] [--words=./docs/words.txt]
+ */
+public class LoadClient {
+    // Most commands a bot waits on replies for before it holds back
+    private static final int MAX_PENDING = 64;
+
+    private final String host;
+    private final int port;
+    private final long keyInterval;
+    private final Histogram latency = new Histogram("event_latency_ns");
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Keys that waited for a later turn because MAX_PENDING commands were in flight
+    private final LongAdder heldBack = new LongAdder();
+
+    /**
+     * @param host server host
+     * @param port server port
+     * @param charactersPerSecond letters each bot types per second
+     */
+    public LoadClient(String host, int port, double charactersPerSecond) {
+        this.host = host;
+        this.port = port;
+        keyInterval = (long) (1_000_000_000L / charactersPerSecond);
+    }
+
+    /**
+     * Plays one bot until the deadline
+     * @param deadline System.nanoTime() to stop at
+     * @param seed seed for when the bot starts typing
+     */
+    private void play(long deadline, long seed) {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            LineReader reader = new LineReader(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 256);
+            String hello = reader.readLine();
+            if (hello == null || !hello.startsWith("HELLO ")) {
+                failed.increment();
+                return;
+            }
+            connected.increment();
+            String[] screen = new String[Integer.parseInt(hello.substring(hello.lastIndexOf(' ') + 1))];
+            // Word being typed and how much of it has been typed
+            int target = -1;
+            int typed = 0;
+            // Letters of an expired word still to be deleted
+            int backspaces = 0;
+            // Send times of commands still waiting for a reply, oldest at head
+            long[] pending = new long[MAX_PENDING];
+            int head = 0;
+            int tail = 0;
+            // Bots start at random times so they do not all type at once
+            long nextKey = System.nanoTime() + new SplittableRandom(seed).nextLong(keyInterval);
+
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                if (now >= nextKey) {
+                    nextKey += keyInterval;
+                    for (; backspaces > 0 && tail - head < MAX_PENDING; backspaces--) {
+                        send(out, "BACK");
+                        pending[tail++ % MAX_PENDING] = System.nanoTime();
+                    }
+                    if (backspaces > 0 || tail - head == MAX_PENDING) {
+                        heldBack.increment();
+                        continue;
+                    }
+                    if (target < 0) {
+                        for (int slot = 0; slot < screen.length; slot++) {
+                            if (screen[slot] != null) {
+                                target = slot;
+                                break;
+                            }
+                        }
+                    }
+                    if (target >= 0 && typed < screen[target].length()) {
+                        send(out, "TYPE " + screen[target].charAt(typed++));
+                        pending[tail++ % MAX_PENDING] = System.nanoTime();
+                    }
+                    continue;
+                }
+                socket.setSoTimeout((int) Math.max(1, (Math.min(nextKey, deadline) - now + 999_999) / 1_000_000));
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+                if (line.startsWith("OK ") || line.startsWith("ERR ")) {
+                    if (head < tail) {
+                        latency.record(System.nanoTime() - pending[head++ % MAX_PENDING]);
+                    }
+                }
+                else if (line.startsWith("SPAWN ")) {
+                    int space = line.indexOf(' ', 6);
+                    screen[Integer.parseInt(line.substring(6, space))] = line.substring(space + 1);
+                }
+                else if (line.startsWith("HIT ")) {
+                    // Any hit clears what the server has typed
+                    screen[Integer.parseInt(line.substring(4, line.indexOf(' ', 4)))] = null;
+                    target = -1;
+                    typed = 0;
+                    backspaces = 0;
+                    hits.increment();
+                }
+                else if (line.startsWith("EXPIRE ")) {
+                    int slot = Integer.parseInt(line.substring(7));
+                    screen[slot] = null;
+                    if (slot == target) {
+                        // Whatever does not fit is sent at the next key
+                        backspaces += typed;
+                        for (; backspaces > 0 && tail - head < MAX_PENDING; backspaces--) {
+                            send(out, "BACK");
+                            pending[tail++ % MAX_PENDING] = System.nanoTime();
+                        }
+                        typed = 0;
+                        target = -1;
+                    }
+                }
+            }
+            send(out, "QUIT");
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Sends one command straight away
+     * @param out stream to the server
+     * @param command command without a line ending
+     * @throws IOException thrown when it cannot be sent
+     */
+    private void send(OutputStream out, String command) throws IOException {
+        for (int i = 0; i < command.length(); i++) {
+            out.write(command.charAt(i));
+        }
+        out.write('\n');
+        out.flush();
+        commands.increment();
+    }
+
+    /**
+     * Runs every bot until the time is up
+     * @param sessions number of bots
+     * @param seconds how long to play
+     */
+    public void run(int sessions, double seconds) {
+        long deadline = System.nanoTime() + (long) (seconds * 1_000_000_000L);
+        try (ExecutorService bots = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                long seed = i;
+                bots.submit(() -> play(deadline, seed));
+            }
+        }
+    }
+
+    /**
+     * @return summary of what the bots did and the event latency
+     */
+    public String summary() {
+        return String.format("%d sessions connected, %d failed, %d commands, %d hits, %d keys held back%n"
+                        + "event latency p50 %.2f ms  p90 %.2f ms  p99 %.2f ms  p99.9 %.2f ms  max %.2f ms",
+                connected.sum(), failed.sum(), commands.sum(), hits.sum(), heldBack.sum(),
+                latency.getPercentile(50) / 1_000_000.0, latency.getPercentile(90) / 1_000_000.0,
+                latency.getPercentile(99) / 1_000_000.0, latency.getPercentile(99.9) / 1_000_000.0,
+                latency.getMax() / 1_000_000.0);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = GameServer.options(args);
+        int sessions = Integer.parseInt(options.getOrDefault("sessions", "1000"));
+        double seconds = Double.parseDouble(options.getOrDefault("seconds", "30"));
+        double cps = Double.parseDouble(options.getOrDefault("cps", "5"));
+        String host = options.getOrDefault("host", "localhost");
+        int port = Integer.parseInt(options.getOrDefault("port", "7777"));
+
+        GameServer server = null;
+        if (options.containsKey("embedded")) {
+            Dictionary words = Utils.loadDictionary(options.getOrDefault("words", "./docs/words.txt"));
+            server = new GameServer(words, 0, 1);
+            server.start();
+            port = server.getPort();
+        }
+        System.out.println("Running " + sessions + " sessions for " + seconds + " s at "
+                + cps + " letters/s on " + Runtime.getRuntime().availableProcessors() + " cores");
+        LoadClient client = new LoadClient(host, port, cps);
+        if (server != null) {
+            // Report while the bots are playing, once they quit the session count drops
+            GameServer reported = server;
+            reported.report();
+            Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    while (true) {
+                        Thread.sleep(5000);
+                        System.out.println(reported.report());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        client.run(sessions, seconds);
+        System.out.println(client.summary());
+        if (server != null) {
+            server.close();
+        }
+    }
+}
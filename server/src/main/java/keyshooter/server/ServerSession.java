@@ -0,0 +1,202 @@
+package keyshooter.server;
+
+import keyshooter.ActiveWord;
+import keyshooter.GameEngine;
+import keyshooter.GameListener;
+import keyshooter.WordSampler;
+import keyshooter.WordState;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Corey Walker
+ * One player's game on the server, run on its own virtual thread.
+ * The session owns a GameEngine with a small capacity and only ever touches it
+ * from its own thread, so there are no locks. It waits for a line from the client
+ * with a socket timeout set to the next tick, so the game keeps moving while
+ * the player is not typing. The session only becomes the engine's listener once
+ * it runs, so the engine never sees a session that is still being constructed.
+ *
+ * Client to server, one command per line:
+ *   TYPE A       types a letter
+ *   BACK         deletes the last typed letter
+ *   RATE 1.5     sets the seconds between spawns, zero or more
+ *   QUIT         ends the session
+ * Server to client:
+ *   HELLO id capacity     sent once after connecting, slots are below capacity
+ *   SPAWN slot WORD       a word appeared
+ *   HIT slot score        a word was typed
+ *   EXPIRE slot           a word left the screen
+ *   OK score viable       reply to every TYPE, BACK and RATE, viable is how many words still match
+ *   ERR message           reply to a command that was not understood or a line over 256 bytes
+ *   BYE score             reply to QUIT
+ */
+public class ServerSession implements Runnable, GameListener {
+    // Most words on the screen at once, kept small so sessions stay small
+    public static final int CAPACITY = 32;
+    // Time between ticks in nanoseconds
+    public static final long TICK_INTERVAL = 50_000_000L;
+    // Size of the area the words move in, the same as the game window
+    private static final double WIDTH = 600;
+    private static final double HEIGHT = 450;
+
+    private final GameServer server;
+    private final Socket socket;
+    private final int id;
+    private final GameEngine engine;
+    private OutputStream out;
+
+    /**
+     * @param server server the session belongs to, gets the session's counters
+     * @param socket connection to the client
+     * @param id number of the session
+     * @param sampler shared sampler to pick words with
+     * @param seed seed for the session's engine
+     */
+    public ServerSession(GameServer server, Socket socket, int id, WordSampler sampler, long seed) {
+        this.server = server;
+        this.socket = socket;
+        this.id = id;
+        engine = new GameEngine(sampler, WIDTH, HEIGHT, seed, CAPACITY);
+    }
+
+    /**
+     * Runs the session until the client quits or disconnects
+     */
+    @Override
+    public void run() {
+        engine.setListener(this);
+        try (Socket client = socket) {
+            client.setTcpNoDelay(true);
+            LineReader reader = new LineReader(client.getInputStream());
+            out = new BufferedOutputStream(client.getOutputStream(), 1024);
+            write("HELLO " + id + " " + CAPACITY);
+            out.flush();
+
+            long nextTick = System.nanoTime();
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    server.tickLate(now - nextTick);
+                    engine.tick(now);
+                    out.flush();
+                    // Skip ticks that were missed instead of running them all at once
+                    nextTick = Math.max(nextTick + TICK_INTERVAL, now);
+                    continue;
+                }
+                client.setSoTimeout((int) Math.max(1, (nextTick - now + 999_999) / 1_000_000));
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                if (line == null || !handle(line)) {
+                    out.flush();
+                    return;
+                }
+                if (!reader.hasLine()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The client went away, nothing to clean up but the socket
+        } finally {
+            server.sessionEnded();
+        }
+    }
+
+    /**
+     * Carries out one command from the client
+     * @param line command without its line ending
+     * @return false if the session should end
+     * @throws IOException thrown when the reply cannot be written
+     */
+    private boolean handle(String line) throws IOException {
+        server.commandReceived();
+        if (line.equals(LineReader.TOO_LONG)) {
+            write("ERR line too long");
+            return true;
+        }
+        if (line.startsWith("TYPE ") && line.length() == 6) {
+            char letter = Character.toUpperCase(line.charAt(5));
+            if (letter < 'A' || letter > 'Z') {
+                write("ERR not a letter");
+                return true;
+            }
+            engine.typeLetter(letter);
+        }
+        else if (line.equals("BACK")) {
+            engine.backspace();
+        }
+        else if (line.startsWith("RATE ")) {
+            double seconds;
+            try {
+                seconds = Double.parseDouble(line.substring(5).trim());
+            } catch (NumberFormatException e) {
+                write("ERR not a number");
+                return true;
+            }
+            // Also turns away NaN, which fails every comparison
+            if (!(seconds >= 0) || Double.isInfinite(seconds)) {
+                write("ERR rate must be zero or more seconds");
+                return true;
+            }
+            engine.setSpawnInterval((long) (seconds * 1_000_000_000L));
+        }
+        else if (line.equals("QUIT")) {
+            write("BYE " + engine.getScore());
+            return false;
+        }
+        else {
+            write("ERR unknown command");
+            return true;
+        }
+        write("OK " + engine.getScore() + " " + engine.getViableCount());
+        return true;
+    }
+
+    /**
+     * Tells the client about a new word
+     */
+    @Override
+    public void onSpawn(ActiveWord word, double startX, double startY,
+                        double endX, double endY, double seconds) {
+        write("SPAWN " + word.getSlot() + " " + word.getWord());
+    }
+
+    /**
+     * Tells the client a word was hit or expired
+     * @param word ActiveWord being released
+     */
+    @Override
+    public void onRelease(ActiveWord word) {
+        if (word.getState() == WordState.HIT) {
+            write("HIT " + word.getSlot() + " " + engine.getScore());
+        }
+        else {
+            write("EXPIRE " + word.getSlot());
+        }
+    }
+
+    /**
+     * Buffers one line for the client, it is sent on the next flush
+     * @param line line without its line ending, non-ASCII chars become '?'
+     */
+    private void write(String line) {
+        try {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                out.write(c < 0x80 ? c : '?');
+            }
+            out.write('\n');
+            server.eventSent();
+        } catch (IOException e) {
+            // Reported by the next flush
+        }
+    }
+}